@@ -0,0 +1,216 @@
+package com.guru.selenium.binding;
+
+import com.guru.selenium.utils.LocatorCache;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page element bound by generated code instead of a PageFactory proxy.
+ * Each call resolves the locator (through the driver's {@link LocatorCache} when available, so repeated
+ * access on an unchanged DOM costs no round-trip); with caching the first resolved element is kept.
+ * A stale element is resolved again once.
+ */
+public class BoundElement implements WebElement, WrapsElement, Locatable {
+    private final WebDriver driver;
+    private final By locator;
+    private final boolean cacheLookup;
+    private volatile WebElement cached;
+
+    /**
+     * @param driver Driver to resolve the element with
+     * @param locator Locator from the field's @FindBy
+     * @param cacheLookup true if the field is annotated with @CacheLookup
+     */
+    public BoundElement(WebDriver driver, By locator, boolean cacheLookup) {
+        this.driver = driver;
+        this.locator = locator;
+        this.cacheLookup = cacheLookup;
+    }
+
+    public By getLocator() {
+        return locator;
+    }
+
+    @Override
+    public WebElement getWrappedElement() {
+        return call(element -> element);
+    }
+
+    @Override
+    public void click() {
+        call(element -> {
+            element.click();
+            return null;
+        });
+    }
+
+    @Override
+    public void submit() {
+        call(element -> {
+            element.submit();
+            return null;
+        });
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        call(element -> {
+            element.sendKeys(keysToSend);
+            return null;
+        });
+    }
+
+    @Override
+    public void clear() {
+        call(element -> {
+            element.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public String getTagName() {
+        return call(WebElement::getTagName);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return call(element -> element.getDomProperty(name));
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return call(element -> element.getDomAttribute(name));
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return call(element -> element.getAttribute(name));
+    }
+
+    @Override
+    public String getAriaRole() {
+        return call(WebElement::getAriaRole);
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return call(WebElement::getAccessibleName);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return call(WebElement::isSelected);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return call(WebElement::isEnabled);
+    }
+
+    @Override
+    public String getText() {
+        return call(WebElement::getText);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return call(element -> element.findElements(by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return call(element -> element.findElement(by));
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return call(WebElement::getShadowRoot);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return call(WebElement::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+        return call(WebElement::getLocation);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return call(WebElement::getSize);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return call(WebElement::getRect);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return call(element -> element.getCssValue(propertyName));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return call(element -> element.getScreenshotAs(target));
+    }
+
+    @Override
+    public Coordinates getCoordinates() {
+        return call(element -> ((Locatable) element).getCoordinates());
+    }
+
+    @Override
+    public String toString() {
+        return "Bound element for: " + locator;
+    }
+
+    private <T> T call(Function<WebElement, T> action) {
+        if (cacheLookup) {
+            try {
+                return action.apply(cachedElement());
+            } catch (StaleElementReferenceException e) {
+                cached = null;
+                return action.apply(cachedElement());
+            }
+        }
+        LocatorCache locatorCache = LocatorCache.of(driver);
+        if (locatorCache != null) {
+            return locatorCache.withElements(locator, elements -> action.apply(first(elements)));
+        }
+        return action.apply(first(driver.findElements(locator)));
+    }
+
+    private WebElement cachedElement() {
+        WebElement element = cached;
+        if (element == null) {
+            element = first(driver.findElements(locator));
+            cached = element;
+        }
+        return element;
+    }
+
+    private WebElement first(List<WebElement> elements) {
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException("Cannot locate an element using " + locator);
+        }
+        return elements.get(0);
+    }
+}
@@ -0,0 +1,57 @@
+package com.guru.selenium.binding;
+
+import com.guru.selenium.utils.LocatorCache;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * List of page elements bound by generated code; resolved on each access unless cached
+ */
+public class BoundElementList extends AbstractList<WebElement> {
+    private final WebDriver driver;
+    private final By locator;
+    private final boolean cacheLookup;
+    private volatile List<WebElement> cached;
+
+    /**
+     * @param driver Driver to resolve the elements with
+     * @param locator Locator from the field's @FindBy
+     * @param cacheLookup true if the field is annotated with @CacheLookup
+     */
+    public BoundElementList(WebDriver driver, By locator, boolean cacheLookup) {
+        this.driver = driver;
+        this.locator = locator;
+        this.cacheLookup = cacheLookup;
+    }
+
+    @Override
+    public WebElement get(int index) {
+        return elements().get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements().size();
+    }
+
+    @Override
+    public String toString() {
+        return "Bound element list for: " + locator;
+    }
+
+    private List<WebElement> elements() {
+        if (cacheLookup && cached != null) {
+            return cached;
+        }
+        LocatorCache locatorCache = LocatorCache.of(driver);
+        List<WebElement> elements = locatorCache != null ? locatorCache.findElements(locator) : driver.findElements(locator);
+        if (cacheLookup) {
+            cached = elements;
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,271 @@
+package com.guru.selenium.binding.processor;
+
+import org.openqa.selenium.support.CacheLookup;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.How;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a <code>&lt;Page&gt;Elements</code> class next to every page object with @FindBy fields.
+ * The generated class holds the fields' locators as By constants and a static bind method that assigns
+ * {@link com.guru.selenium.binding.BoundElement} instances directly, so page construction needs no
+ * reflection or dynamic proxies. With the pagebinding.registry option a registry class dispatching
+ * to every generated binder is written as well.
+ */
+@SupportedAnnotationTypes("org.openqa.selenium.support.FindBy")
+@SupportedOptions(PageElementProcessor.REGISTRY_OPTION)
+public class PageElementProcessor extends AbstractProcessor {
+    static final String REGISTRY_OPTION = "pagebinding.registry";
+
+    private static final String GENERATED = "@javax.annotation.processing.Generated(\""
+            + PageElementProcessor.class.getName() + "\")";
+
+    private final Map<TypeElement, String> binders = new LinkedHashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, List<VariableElement>> pages = new LinkedHashMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(FindBy.class)) {
+            if (element.getKind() != ElementKind.FIELD) {
+                continue;
+            }
+            VariableElement field = (VariableElement) element;
+            if (isBindable(field)) {
+                pages.computeIfAbsent((TypeElement) field.getEnclosingElement(), page -> new ArrayList<>()).add(field);
+            }
+        }
+
+        pages.forEach(this::writeBinder);
+        if (!pages.isEmpty() && processingEnv.getOptions().containsKey(REGISTRY_OPTION)) {
+            writeRegistry(processingEnv.getOptions().get(REGISTRY_OPTION));
+        }
+        return false;
+    }
+
+    private boolean isBindable(VariableElement field) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (field.getAnnotation(FindBys.class) != null || field.getAnnotation(FindAll.class) != null) {
+            error(field, "@FindBys/@FindAll are not supported by generated page bindings");
+            return false;
+        }
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC)) {
+            error(field, "@FindBy field must not be private, final or static to be bound by generated code");
+            return false;
+        }
+        if (!isWebElement(field.asType()) && !isWebElementList(field.asType())) {
+            error(field, "@FindBy field must be a WebElement or List<WebElement>");
+            return false;
+        }
+        if (field.getEnclosingElement().getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            error(field, "@FindBy fields are only bound in top-level page classes");
+            return false;
+        }
+        return true;
+    }
+
+    private void writeBinder(TypeElement page, List<VariableElement> fields) {
+        Elements elements = processingEnv.getElementUtils();
+        String packageName = ((PackageElement) page.getEnclosingElement()).getQualifiedName().toString();
+        String pageName = page.getSimpleName().toString();
+        String binderName = pageName + "Elements";
+
+        try (PrintWriter out = new PrintWriter(openSource(packageName + "." + binderName, page))) {
+            out.println("package " + packageName + ";");
+            out.println();
+            out.println("import com.guru.selenium.binding.BoundElement;");
+            out.println("import com.guru.selenium.binding.BoundElementList;");
+            out.println("import com.guru.selenium.utils.Locators;");
+            out.println("import org.openqa.selenium.By;");
+            out.println("import org.openqa.selenium.WebDriver;");
+            out.println("import org.openqa.selenium.support.ByIdOrName;");
+            out.println();
+            out.println("/**");
+            out.println(" * Element bindings for {@link " + pageName + "}, generated from its @FindBy fields");
+            out.println(" */");
+            out.println(GENERATED);
+            out.println("public final class " + binderName + " {");
+            for (VariableElement field : fields) {
+                out.println("    public static final By " + constantName(field) + " = "
+                        + locatorExpression(field, elements) + ";");
+            }
+            out.println();
+            out.println("    private " + binderName + "() {");
+            out.println("    }");
+            out.println();
+            out.println("    /**");
+            out.println("     * Assign bound elements to the @FindBy fields of the page");
+            out.println("     * @param page Page object to initialize");
+            out.println("     * @param driver Driver the elements are resolved with");
+            out.println("     */");
+            out.println("    public static void bind(" + pageName + " page, WebDriver driver) {");
+            for (VariableElement field : fields) {
+                String type = isWebElementList(field.asType()) ? "BoundElementList" : "BoundElement";
+                boolean cacheLookup = field.getAnnotation(CacheLookup.class) != null;
+                out.println("        page." + field.getSimpleName() + " = new " + type + "(driver, "
+                        + constantName(field) + ", " + cacheLookup + ");");
+            }
+            out.println("    }");
+            out.println("}");
+        } catch (IOException e) {
+            error(page, "Could not write page binding: " + e.getMessage());
+            return;
+        }
+        binders.put(page, packageName + "." + binderName);
+    }
+
+    private void writeRegistry(String registryName) {
+        int lastDot = registryName.lastIndexOf('.');
+        String packageName = registryName.substring(0, lastDot);
+        String simpleName = registryName.substring(lastDot + 1);
+
+        try (PrintWriter out = new PrintWriter(openSource(registryName, binders.keySet().toArray(new Element[0])))) {
+            out.println("package " + packageName + ";");
+            out.println();
+            out.println("import org.openqa.selenium.WebDriver;");
+            out.println();
+            out.println("/**");
+            out.println(" * Dispatches page objects to their generated element bindings");
+            out.println(" */");
+            out.println(GENERATED);
+            out.println("public final class " + simpleName + " {");
+            out.println();
+            out.println("    private " + simpleName + "() {");
+            out.println("    }");
+            out.println();
+            out.println("    /**");
+            out.println("     * Bind the @FindBy fields of the page and of its superclasses");
+            out.println("     * @param page Page object to initialize");
+            out.println("     * @param driver Driver the elements are resolved with");
+            out.println("     * @return true if at least one generated binding applied to the page");
+            out.println("     */");
+            out.println("    public static boolean bind(Object page, WebDriver driver) {");
+            out.println("        boolean bound = false;");
+            binders.forEach((page, binder) -> {
+                String pageType = page.getQualifiedName().toString();
+                out.println("        if (page instanceof " + pageType + ") {");
+                out.println("            " + binder + ".bind((" + pageType + ") page, driver);");
+                out.println("            bound = true;");
+                out.println("        }");
+            });
+            out.println("        return bound;");
+            out.println("    }");
+            out.println("}");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write page binding registry " + registryName + ": " + e.getMessage());
+        }
+    }
+
+    private Writer openSource(String name, Element... originatingElements) throws IOException {
+        return processingEnv.getFiler().createSourceFile(name, originatingElements).openWriter();
+    }
+
+    /**
+     * Java expression for the field's locator, following the rules of Selenium's Annotations.buildBy
+     */
+    private String locatorExpression(VariableElement field, Elements elements) {
+        FindBy findBy = field.getAnnotation(FindBy.class);
+        if (findBy.how() != How.UNSET) {
+            return locator(findBy.how(), findBy.using(), elements);
+        }
+        Map<How, String> shorthands = new LinkedHashMap<>();
+        shorthands.put(How.ID, findBy.id());
+        shorthands.put(How.NAME, findBy.name());
+        shorthands.put(How.CLASS_NAME, findBy.className());
+        shorthands.put(How.CSS, findBy.css());
+        shorthands.put(How.TAG_NAME, findBy.tagName());
+        shorthands.put(How.LINK_TEXT, findBy.linkText());
+        shorthands.put(How.PARTIAL_LINK_TEXT, findBy.partialLinkText());
+        shorthands.put(How.XPATH, findBy.xpath());
+
+        String expression = null;
+        for (Map.Entry<How, String> shorthand : shorthands.entrySet()) {
+            if (shorthand.getValue().isEmpty()) {
+                continue;
+            }
+            if (expression != null) {
+                error(field, "@FindBy must set exactly one locator");
+                break;
+            }
+            expression = locator(shorthand.getKey(), shorthand.getValue(), elements);
+        }
+        return expression != null ? expression : locator(How.ID_OR_NAME, field.getSimpleName().toString(), elements);
+    }
+
+    private static String locator(How how, String using, Elements elements) {
+        String value = elements.getConstantExpression(using);
+        switch (how) {
+            case CLASS_NAME:
+                return "By.className(" + value + ")";
+            case CSS:
+                return "By.cssSelector(" + value + ")";
+            case ID:
+                return "By.id(" + value + ")";
+            case LINK_TEXT:
+                return "By.linkText(" + value + ")";
+            case NAME:
+                return "By.name(" + value + ")";
+            case PARTIAL_LINK_TEXT:
+                return "By.partialLinkText(" + value + ")";
+            case TAG_NAME:
+                return "By.tagName(" + value + ")";
+            case XPATH:
+                // XPaths go through the locator factory, which substitutes a faster CSS form where one exists
+                return "Locators.xpath(" + value + ")";
+            default:
+                return "new ByIdOrName(" + value + ")";
+        }
+    }
+
+    private static String constantName(VariableElement field) {
+        return field.getSimpleName().toString().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
+
+    private boolean isWebElement(TypeMirror type) {
+        Types types = processingEnv.getTypeUtils();
+        TypeElement webElement = processingEnv.getElementUtils().getTypeElement("org.openqa.selenium.WebElement");
+        return types.isSameType(type, webElement.asType());
+    }
+
+    private boolean isWebElementList(TypeMirror type) {
+        Types types = processingEnv.getTypeUtils();
+        Elements elements = processingEnv.getElementUtils();
+        TypeMirror list = types.getDeclaredType(elements.getTypeElement("java.util.List"),
+                elements.getTypeElement("org.openqa.selenium.WebElement").asType());
+        return types.isSameType(type, list);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
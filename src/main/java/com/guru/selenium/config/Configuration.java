@@ -4,7 +4,12 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Slf4j
 public class Configuration {
@@ -94,4 +99,49 @@ public class Configuration {
 
         return Boolean.parseBoolean(value);
     }
-}
\ No newline at end of file
+
+    /**
+     * Names of all properties starting with the given prefix
+     * @param prefix Key prefix, e.g. perf.budget.
+     * @return sorted property names
+     */
+    public Set<String> getPropertyNames(String prefix) {
+        Set<String> names = new TreeSet<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                names.add(key);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Directory for state that should survive between runs (session snapshots, learned statistics)
+     * @return state.dir if set, otherwise ~/.guru-selenium
+     */
+    public Path getStateDirectory() {
+        String dir = getProperty("state.dir", "");
+        if (dir.isBlank()) {
+            return Paths.get(System.getProperty("user.home"), ".guru-selenium");
+        }
+        return Paths.get(dir);
+    }
+
+    /**
+     * Key identifying the environment under test, used to separate persisted state
+     * @return host of EXPLORER_URL or base.url, or "default" when neither is set
+     */
+    public String getEnvironmentKey() {
+        String url = System.getenv("EXPLORER_URL");
+        if (url == null || url.isBlank()) {
+            url = getProperty("base.url", "");
+        }
+        try {
+            String host = url.isBlank() ? null : URI.create(url.trim()).getHost();
+            return host == null ? "default" : host.replaceAll("[^A-Za-z0-9.-]", "_");
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid environment URL: {}", url);
+            return "default";
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.guru.selenium.pages;
 
+import com.guru.selenium.utils.Locators;
 import com.guru.selenium.utils.Navigator;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
@@ -12,7 +13,7 @@ import java.util.List;
 public class AgentsPage extends BasePage {
     private final By agentsContainer = By.cssSelector(".content_body__1Ac9z");
     private final By agentCards = By.cssSelector(".AgentCard_container__FdMw4");
-    private final By pageTitle = By.xpath("//div[contains(@class, 'layout_header__Aaszh')]//span[1]");
+    private final By pageTitle = Locators.xpath("//div[contains(@class, 'layout_header__Aaszh')]//span[1]");
     private final By agentTitles = By.cssSelector(".AgentCard_title__0JRGK");
 
     private final Navigator navigator;
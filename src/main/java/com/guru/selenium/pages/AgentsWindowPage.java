@@ -1,29 +1,93 @@
 package com.guru.selenium.pages;
 
+import com.guru.selenium.config.Configuration;
+import com.guru.selenium.utils.BudgetedWait;
+import com.guru.selenium.utils.WaitEngine;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class AgentsWindowPage extends BasePage {
+    // Selectors shared with in-browser scripts
+    private static final String ANSWER_SELECTOR = ".AIChatMessage_answer__LLofQ";
+    private static final String PARAGRAPH_SELECTOR = ".Text_container__s3zN4 p";
+    private static final String LOADING_SELECTOR = ".AIChat_service__piLWs";
+
     // Locators
     private final By guruAiContainer = By.id("page-aichat");
     private final By chatPromptButtons = By.cssSelector("button.AIChat_prompt__WYQFV");
     private final By chatInput = By.cssSelector("textarea[name='message']");
     private final By submitButton = By.cssSelector("button.AIChat_submit__ciifR");
     private final By chatMessages = By.cssSelector(".AIChat_list__1KKWq li");
-    private final By aiResponses = By.cssSelector(".AIChatMessage_answer__LLofQ");
-    private final By messageBodies = By.cssSelector(".Text_container__s3zN4 p");
-    private final By loadingIndicator = By.cssSelector(".AIChat_service__piLWs");
+    private final By aiResponses = By.cssSelector(ANSWER_SELECTOR);
+    private final By loadingIndicator = By.cssSelector(LOADING_SELECTOR);
     private final By guruAiOpenClass = By.cssSelector(".aichat_open___aIT5");
+    private final By buttonCaption = By.cssSelector("span.Button_caption__baPq2");
 
     // Error response indicators
     private static final String SHRUG_EMOTICON = "¯_(ツ)_/¯";
     private static final String AGENT_FAILED = "AGENT_FAILED";
 
+    // Resolves once the newest answer stops streaming; arguments: answer selector, loading selector,
+    // answers before click, quiet window ms, timeout ms, ms already elapsed since the click
+    private static final String ANSWER_COMPLETION_SCRIPT =
+            "var done = arguments[arguments.length - 1];" +
+            "var answerSelector = arguments[0], loadingSelector = arguments[1], baseline = arguments[2];" +
+            "var quietWindow = arguments[3], timeout = arguments[4], offset = arguments[5];" +
+            "var start = performance.now(), firstToken = null, lastChange = start, lastLength = 0, finished = false;" +
+            "function elapsed() { return performance.now() - start + offset; }" +
+            "function newestAnswer() {" +
+            "  var answers = document.querySelectorAll(answerSelector);" +
+            "  return answers.length > baseline ? answers[answers.length - 1] : null;" +
+            "}" +
+            "function isLoading() {" +
+            "  var loader = document.querySelector(loadingSelector);" +
+            "  return loader !== null && loader.textContent.trim().length > 0;" +
+            "}" +
+            "function finish(reason) {" +
+            "  finished = true; observer.disconnect(); clearInterval(timer);" +
+            "  done({firstTokenMs: firstToken, totalMs: elapsed(), length: lastLength, completedBy: reason});" +
+            "}" +
+            "function check() {" +
+            "  if (finished) { return; }" +
+            "  var answer = newestAnswer();" +
+            "  var length = answer ? answer.textContent.trim().length : 0;" +
+            "  if (length > 0 && firstToken === null) { firstToken = elapsed(); }" +
+            "  if (length !== lastLength) { lastLength = length; lastChange = performance.now(); }" +
+            "  if (firstToken !== null) {" +
+            "    if (!isLoading()) { return finish('loading-cleared'); }" +
+            "    if (performance.now() - lastChange >= quietWindow) { return finish('quiet'); }" +
+            "  }" +
+            "  if (elapsed() >= timeout) { finish('timeout'); }" +
+            "}" +
+            "var observer = new MutationObserver(check);" +
+            "observer.observe(document.body, {childList: true, subtree: true, characterData: true});" +
+            "var timer = setInterval(check, 100);" +
+            "check();";
+
+    // Returns the paragraph texts of every answer from the given index;
+    // arguments: answer selector, paragraph selector, first answer index
+    private static final String BULK_TEXT_SCRIPT =
+            "var answers = document.querySelectorAll(arguments[0]), result = [];" +
+            "for (var i = arguments[2]; i < answers.length; i++) {" +
+            "  var paragraphs = answers[i].querySelectorAll(arguments[1]), texts = [];" +
+            "  for (var j = 0; j < paragraphs.length; j++) { texts.push(paragraphs[j].innerText.trim()); }" +
+            "  result.push(texts);" +
+            "}" +
+            "return result;";
+
+    private int nextResponseIndex = 0;
+    private boolean properResponseSeen = false;
+
     public AgentsWindowPage() {
         super();
         log.info("AgentsWindowPage initialized");
@@ -45,11 +109,20 @@ public class AgentsWindowPage extends BasePage {
     }
 
     /**
-     * Click on a specific prompt button by text and wait 30 seconds
+     * Click on a specific prompt button by text and wait for the answer to finish streaming
      * @param buttonText The text of the button to click
      * @return true if button was found and clicked
      */
     public boolean clickPromptButton(String buttonText) {
+        return clickPromptButtonAndAwaitAnswer(buttonText) != null;
+    }
+
+    /**
+     * Click on a specific prompt button by text and wait until the answer is complete
+     * @param buttonText The text of the button to click
+     * @return answer completion timings, or null if the button was not found
+     */
+    public AnswerCompletion clickPromptButtonAndAwaitAnswer(String buttonText) {
         log.info("Attempting to click on prompt button: '{}'", buttonText);
 
         // Wait for any prompt button to be visible
@@ -58,6 +131,7 @@ public class AgentsWindowPage extends BasePage {
         List<WebElement> buttons = driver.findElements(chatPromptButtons);
         log.info("Found {} prompt buttons", buttons.size());
 
+        int answersBeforeClick = driver.findElements(aiResponses).size();
         boolean clickSuccess = false;
 
         switch (buttonText.toLowerCase()) {
@@ -78,7 +152,7 @@ public class AgentsWindowPage extends BasePage {
 
             default:
                 for (WebElement button : buttons) {
-                    String actualText = button.findElement(By.cssSelector("span.Button_caption__baPq2")).getText();
+                    String actualText = captionOf(button);
                     if (actualText.equalsIgnoreCase(buttonText)) {
                         clickElement(button);
                         log.info("Clicked on button with text: '{}'", actualText);
@@ -89,46 +163,66 @@ public class AgentsWindowPage extends BasePage {
 
                 if (!clickSuccess) {
                     log.error("Button with text '{}' not found", buttonText);
-                    return false;
+                    return null;
                 }
         }
 
-        if (clickSuccess) {
-            log.info("Waiting 30 seconds after clicking '{}'", buttonText);
-
-            // Record start time
-            long startTime = System.currentTimeMillis();
+        if (!clickSuccess) {
+            return null;
+        }
 
-            // Try to wait for loading indicator and then response
-            try {
-                // Wait for loading indicator to disappear
-                waitForLoadingToComplete(loadingIndicator, 15000);
+        long clickTime = System.currentTimeMillis();
+        AnswerCompletion completion = waitForAnswerCompletion(answersBeforeClick, clickTime);
+        log.info("Answer for '{}' finished: {}", buttonText, completion);
+        return completion;
+    }
 
-                // Try to detect new messages
-                waitForResponse(10);
-            } catch (Exception e) {
-                log.debug("Exception while waiting for response: {}", e.getMessage());
+    /**
+     * Watch the newest answer node in the browser until its streamed text has been stable for the quiet window
+     * or the loading indicator clears
+     * @param answersBeforeClick Number of answers present before the prompt was sent
+     * @param clickTime Time the prompt was sent, in epoch millis
+     * @return completion timings measured from the click
+     */
+    public AnswerCompletion waitForAnswerCompletion(int answersBeforeClick, long clickTime) {
+        Configuration config = Configuration.getInstance();
+        long quietWindow = config.getIntProperty("guru.ai.quietWindow", 1500);
+        long requested = config.getIntProperty("guru.ai.answerTimeout", 60000);
+        long timeout = WaitEngine.getInstance().allot(requested);
+        long scriptTimeout = config.getIntProperty("timeouts.script", 30000);
+
+        boolean extendScriptTimeout = timeout >= scriptTimeout;
+        long start = System.currentTimeMillis();
+        AnswerCompletion completion;
+        try {
+            if (extendScriptTimeout) {
+                driver.manage().timeouts().scriptTimeout(Duration.ofMillis(timeout + 5000));
             }
-
-            // Calculate elapsed time
-            long elapsedTime = System.currentTimeMillis() - startTime;
-            long remainingTime = 30000 - elapsedTime;
-
-            // If we've waited less than 30 seconds total, wait the remaining time
-            if (remainingTime > 0) {
-                try {
-                    log.debug("Waiting additional {} ms to complete 30 second wait", remainingTime);
-                    Thread.sleep(remainingTime);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    log.warn("Wait interrupted: {}", e.getMessage());
-                }
+            Object raw = ((JavascriptExecutor) driver).executeAsyncScript(ANSWER_COMPLETION_SCRIPT,
+                    ANSWER_SELECTOR, LOADING_SELECTOR,
+                    answersBeforeClick, quietWindow, timeout, System.currentTimeMillis() - clickTime);
+            completion = AnswerCompletion.from(raw);
+        } catch (Exception e) {
+            log.warn("Error waiting for answer completion: {}", e.getMessage());
+            completion = AnswerCompletion.failed(System.currentTimeMillis() - clickTime);
+        } finally {
+            if (extendScriptTimeout) {
+                driver.manage().timeouts().scriptTimeout(Duration.ofMillis(scriptTimeout));
             }
-
-            log.info("Completed 30 second wait after clicking '{}'", buttonText);
         }
+        WaitEngine.getInstance().record("Guru AI answer completion", requested, timeout,
+                System.currentTimeMillis() - start, completion.isComplete() ? "ok" : "incomplete");
+        return completion;
+    }
 
-        return clickSuccess;
+    /**
+     * @param button Prompt button
+     * @return the button's caption, waiting for it to render
+     */
+    private String captionOf(WebElement button) {
+        return new BudgetedWait(driver, Duration.ofSeconds(ELEMENT_TIMEOUT_SECONDS))
+                .until(ExpectedConditions.presenceOfNestedElementLocatedBy(button, buttonCaption))
+                .getText();
     }
 
     /**
@@ -141,7 +235,7 @@ public class AgentsWindowPage extends BasePage {
     private boolean clickButtonByIndex(List<WebElement> buttons, int index, String buttonName) {
         if (buttons.size() > index) {
             WebElement button = buttons.get(index);
-            String actualText = button.findElement(By.cssSelector("span.Button_caption__baPq2")).getText();
+            String actualText = captionOf(button);
             clickElement(button);
             log.info("Clicked on {} button with text: '{}'", buttonName, actualText);
             return true;
@@ -202,40 +296,50 @@ public class AgentsWindowPage extends BasePage {
     }
 
     /**
-     * Check if Guru AI contributed a proper response
+     * Check if Guru AI contributed a proper response.
+     * Only answers added since the previous check are pulled from the browser; the newest
+     * answer is re-read next time in case it was still streaming.
      * @return true if a meaningful response is present
      */
     public boolean hasProperResponse() {
         try {
             log.info("Checking if Guru AI provided a proper response");
 
+            if (properResponseSeen) {
+                log.info("Proper AI response already found in an earlier check");
+                return true;
+            }
+
             // Wait for loading to complete
             waitForLoadingToComplete(loadingIndicator, 30);
 
-            // Get all AI responses
-            List<String> responses = getAllResponses();
-            log.info("Found {} AI responses in total", responses.size());
-
-            // If we have any responses at all, check them
+            // Get AI responses added since the last check
+            int fromIndex = nextResponseIndex;
+            List<String> responses = getResponsesFrom(fromIndex);
+            log.info("Found {} new AI responses (starting at index {})", responses.size(), fromIndex);
             if (!responses.isEmpty()) {
-                // Check if at least one response is meaningful
-                for (String response : responses) {
-                    // Ignore null/empty responses
-                    if (response == null || response.trim().isEmpty()) {
-                        continue;
-                    }
+                nextResponseIndex = fromIndex + responses.size() - 1;
+            }
 
-                    // Check if it's a substantial response (longer than 50 chars)
-                    if (response.length() > 50) {
-                        log.info("Found substantial AI response (length: {})", response.length());
-                        return true;
-                    }
+            // Check if at least one response is meaningful
+            for (String response : responses) {
+                // Ignore null/empty responses
+                if (response == null || response.trim().isEmpty()) {
+                    continue;
+                }
 
-                    // Check if it's not an error response and has reasonable content
-                    if (!isErrorResponse(response) && response.length() > 10) {
-                        log.info("Found meaningful AI response");
-                        return true;
-                    }
+                // Check if it's a substantial response (longer than 50 chars)
+                if (response.length() > 50) {
+                    log.info("Found substantial AI response (length: {})", response.length());
+                    properResponseSeen = true;
+                    return true;
+                }
+
+                // Check if it's not an error response and has reasonable content
+                if (!isErrorResponse(response) && response.length() > 10) {
+                    log.info("Found meaningful AI response");
+                    properResponseSeen = true;
+                    return true;
                 }
             }
 
@@ -264,32 +368,70 @@ public class AgentsWindowPage extends BasePage {
     }
 
     /**
-     * Get text content from a message element
-     * @param messageElement The message element
-     * @return Text content
+     * Get all AI responses as a list
+     * @return List of response texts
      */
-    private String getMessageText(WebElement messageElement) {
-        StringBuilder text = new StringBuilder();
-        List<WebElement> paragraphs = messageElement.findElements(messageBodies);
+    public List<String> getAllResponses() {
+        return getResponsesFrom(0);
+    }
 
-        for (WebElement paragraph : paragraphs) {
-            if (!text.isEmpty()) {
-                text.append("\n");
-            }
-            text.append(paragraph.getText().trim());
+    /**
+     * Extract answer texts, paragraph by paragraph, with a single script call
+     * @param fromIndex Index of the first answer to return
+     * @return Texts of answers from the given index, paragraphs separated by newlines
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getResponsesFrom(int fromIndex) {
+        List<List<String>> answers = (List<List<String>>) ((JavascriptExecutor) driver).executeScript(
+                BULK_TEXT_SCRIPT, ANSWER_SELECTOR, PARAGRAPH_SELECTOR, fromIndex);
+        if (answers == null) {
+            return List.of();
         }
-
-        return text.toString();
+        return answers.stream()
+                .map(paragraphs -> String.join("\n", paragraphs))
+                .collect(Collectors.toList());
     }
 
     /**
-     * Get all AI responses as a list
-     * @return List of response texts
+     * Timings of a streamed Guru AI answer, measured from the prompt click
      */
-    public List<String> getAllResponses() {
-        List<WebElement> responses = driver.findElements(aiResponses);
-        return responses.stream()
-                .map(this::getMessageText)
-                .collect(Collectors.toList());
+    @Getter
+    public static class AnswerCompletion {
+        private Long timeToFirstTokenMillis;
+        private long totalMillis;
+        private long finalLength;
+        private String completedBy;
+
+        @SuppressWarnings("unchecked")
+        static AnswerCompletion from(Object raw) {
+            AnswerCompletion completion = new AnswerCompletion();
+            if (raw instanceof Map) {
+                Map<String, Object> map = (Map<String, Object>) raw;
+                Object firstToken = map.get("firstTokenMs");
+                completion.timeToFirstTokenMillis = firstToken instanceof Number
+                        ? Math.round(((Number) firstToken).doubleValue()) : null;
+                completion.totalMillis = Math.round(((Number) map.get("totalMs")).doubleValue());
+                completion.finalLength = ((Number) map.get("length")).longValue();
+                completion.completedBy = (String) map.get("completedBy");
+            }
+            return completion;
+        }
+
+        static AnswerCompletion failed(long totalMillis) {
+            AnswerCompletion completion = new AnswerCompletion();
+            completion.totalMillis = totalMillis;
+            completion.completedBy = "error";
+            return completion;
+        }
+
+        public boolean isComplete() {
+            return timeToFirstTokenMillis != null && !"timeout".equals(completedBy) && !"error".equals(completedBy);
+        }
+
+        @Override
+        public String toString() {
+            return "timeToFirstToken=" + (timeToFirstTokenMillis == null ? "n/a" : timeToFirstTokenMillis + " ms") +
+                    ", total=" + totalMillis + " ms, length=" + finalLength + ", completedBy=" + completedBy;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.guru.selenium.pages;
 
+import com.guru.selenium.utils.BudgetedWait;
+import com.guru.selenium.utils.Locators;
 import com.guru.selenium.utils.Navigator;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
@@ -19,13 +21,13 @@ public class AnalyticsPage extends BasePage {
     private final By guruAiOpenClass = By.cssSelector(".aichat_open___aIT5");
 //    private final By guruAiTitle = By.xpath("//span[contains(text(),'Guru AI')]");
     private final By analyticsContainer = By.cssSelector(".content_body__1Ac9z");
-    private final By pageTitle = By.xpath("(//span[contains(@class, 'Caption_header__OVD2p')])[1]");
+    private final By pageTitle = Locators.xpath("(//span[contains(@class, 'Caption_header__OVD2p')])[1]");
 
     private final Navigator navigator;
 
     public AnalyticsPage() {
         super();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new BudgetedWait(driver, Duration.ofSeconds(10));
         this.navigator = new Navigator();
         log.info("AnalyticsPage initialized");
     }
@@ -1,9 +1,18 @@
 package com.guru.selenium.pages;
 
+import com.guru.selenium.binding.PageElementBindings;
+import com.guru.selenium.config.Configuration;
+import com.guru.selenium.utils.BudgetedWait;
 import com.guru.selenium.utils.DriverFactory;
+import com.guru.selenium.utils.ElementBatchQuery;
+import com.guru.selenium.utils.LocatorCache;
+import com.guru.selenium.utils.PagePerformanceCollector;
+import com.guru.selenium.utils.PageReadinessProbe;
+import com.guru.selenium.utils.WaitEngine;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
@@ -14,6 +23,7 @@ import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -21,146 +31,90 @@ public abstract class BasePage {
     protected final WebDriver driver;
     protected final WebDriverWait wait;
     protected static final long DEFAULT_TIMEOUT_SECONDS = 30;
+    // Lookups that used to rely on the implicit wait, which is off while the wait budget is enabled
+    protected static final long ELEMENT_TIMEOUT_SECONDS = 10;
     protected final String baseUrl;
 
     protected BasePage() {
         this.driver = DriverFactory.getInstance().getDriver();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS));
-        PageFactory.initElements(driver, this);
-        log.info("Initialized BasePage with PageFactory");
+        this.wait = new BudgetedWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS));
+        initElements();
         baseUrl = System.getenv("EXPLORER_URL");
         log.info("Explorer URL: {}", baseUrl);
     }
 
-    public void navigateTo(String url) {
+    /**
+     * Bind @FindBy fields through the generated element bindings, or through PageFactory proxies
+     * when binding.generated=false
+     */
+    private void initElements() {
+        if (Configuration.getInstance().getBooleanProperty("binding.generated", true)) {
+            boolean bound = PageElementBindings.bind(this, driver);
+            log.debug("Initialized {} with generated element bindings: {}", getClass().getSimpleName(), bound);
+        } else {
+            PageFactory.initElements(driver, this);
+            log.info("Initialized {} with PageFactory", getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Load the URL and wait until the page is ready
+     * @param url Absolute URL
+     * @return performance sample of the load, or null if collection is disabled or failed
+     */
+    public PagePerformanceCollector.PerformanceSample navigateTo(String url) {
         log.info("Navigating to: {}", url);
+        long start = System.currentTimeMillis();
         driver.get(url);
         waitForPageToLoad();
+        return PagePerformanceCollector.collect(driver, System.currentTimeMillis() - start);
     }
 
-    protected void waitForPageToLoad() {
+    /**
+     * Wait for the page to settle. In network mode (readiness.mode=network) this waits until no fetch/XHR
+     * request has been in flight for the idle window, tracked through DevTools; otherwise a single in-browser
+     * probe checks document ready state, jQuery/Angular activity and DOM quiet time
+     * @return readiness result with per-phase timings
+     */
+    protected PageReadinessProbe.Result waitForPageToLoad() {
         log.debug("Waiting for page to load completely");
-
-        // Wait for document ready state
-        try {
-            wait.until(driver -> {
-                String readyState = ((JavascriptExecutor) driver).executeScript("return document.readyState").toString();
-                log.debug("Current document.readyState: {}", readyState);
-                return "complete".equals(readyState);
-            });
-        } catch (Exception e) {
-            log.warn("Timeout waiting for document.readyState to be complete: {}", e.getMessage());
-        }
-
-        // Add error catching script for detecting 403 errors
-        try {
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-            js.executeScript(
-                    "if (!window.jsErrors) {" +
-                            "  window.jsErrors = [];" +
-                            "  window.addEventListener('error', function(event) {" +
-                            "    window.jsErrors.push(event.message || 'Unknown error');" +
-                            "  });" +
-                            "  var originalFetch = window.fetch;" +
-                            "  window.fetch = function() {" +
-                            "    return originalFetch.apply(this, arguments)" +
-                            "      .then(function(response) {" +
-                            "        if (response.status === 403) {" +
-                            "          window.jsErrors.push('Fetch 403: ' + response.url);" +
-                            "        }" +
-                            "        return response;" +
-                            "      });" +
-                            "  };" +
-                            "}"
-            );
-        } catch (Exception e) {
-            log.warn("Error setting up JS error tracking: {}", e.getMessage());
-        }
-
-        // Wait for jQuery if it exists
-        try {
-            wait.until(driver -> {
-                boolean jQueryDefined = (boolean) ((JavascriptExecutor) driver)
-                        .executeScript("return typeof jQuery != 'undefined'");
-                if (!jQueryDefined) {
-                    return true;
-                }
-                return (boolean) ((JavascriptExecutor) driver)
-                        .executeScript("return jQuery.active == 0");
-            });
-            log.debug("jQuery loading complete");
-        } catch (Exception e) {
-            log.debug("jQuery not available or error checking jQuery status: {}", e.getMessage());
-        }
-
-        // Wait for Angular if it exists
-        try {
-            wait.until(driver -> {
-                boolean angularDefined = (boolean) ((JavascriptExecutor) driver)
-                        .executeScript("return typeof angular != 'undefined'");
-                if (!angularDefined) {
-                    return true;
-                }
-                return (boolean) ((JavascriptExecutor) driver)
-                        .executeScript("return angular.element(document).injector().get('$http').pendingRequests.length === 0");
-            });
-            log.debug("Angular loading complete");
-        } catch (Exception e) {
-            log.debug("Angular not available or error checking Angular status: {}", e.getMessage());
+        Configuration config = Configuration.getInstance();
+
+        long requested = config.getIntProperty("readiness.timeout", 25000);
+        long granted = WaitEngine.getInstance().allot(requested);
+        long start = System.currentTimeMillis();
+
+        PageReadinessProbe.Result result;
+        if ("network".equalsIgnoreCase(config.getProperty("readiness.mode", "dom"))) {
+            result = PageReadinessProbe.awaitNetworkIdle(driver, granted,
+                    config.getIntProperty("readiness.network.idleWindow", 500),
+                    config.getIntProperty("readiness.quietWindow", 500),
+                    config.getIntProperty("readiness.maxQuietWait", 5000));
+        } else {
+            result = PageReadinessProbe.await(driver, granted,
+                    config.getIntProperty("readiness.quietWindow", 500),
+                    config.getIntProperty("readiness.maxQuietWait", 5000));
         }
+        WaitEngine.getInstance().record("page readiness on " + driver.getCurrentUrl(), requested, granted,
+                System.currentTimeMillis() - start, result.isTimedOut() ? "timeout in " + result.getTimedOutPhase() : "ok");
 
-        // Wait for React if it exists (detect loading state via DOM changes)
-        try {
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-            js.executeScript(
-                    "if (!window._domStabilityMonitor) {" +
-                            "  window._domStabilityMonitor = {" +
-                            "    lastModified: Date.now()," +
-                            "    observer: new MutationObserver(function() {" +
-                            "      window._domStabilityMonitor.lastModified = Date.now();" +
-                            "    })" +
-                            "  };" +
-                            "  window._domStabilityMonitor.observer.observe(document.body, {" +
-                            "    childList: true," +
-                            "    subtree: true," +
-                            "    attributes: true" +
-                            "  });" +
-                            "}"
-            );
-
-            // Wait for DOM to stabilize (no changes for 500ms)
-            int stabilityTimeout = 0;
-            while (stabilityTimeout < 5000) { // Max 5 seconds
-                long lastModified = (long) js.executeScript("return window._domStabilityMonitor.lastModified;");
-                long now = System.currentTimeMillis();
-                if (now - lastModified > 500) {
-                    log.debug("DOM has stabilized (no changes for 500ms)");
-                    break;
-                }
-                Thread.sleep(100);
-                stabilityTimeout += 100;
-            }
-        } catch (Exception e) {
-            log.debug("Error monitoring DOM stability: {}", e.getMessage());
+        if (result.isTimedOut()) {
+            log.warn("Page was not ready before timeout: {}", result);
+        } else {
+            log.info("Page ready: {}", result);
         }
 
         // Check for any 403 errors
-        try {
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-            @SuppressWarnings("unchecked")
-            List<String> errors = (List<String>) js.executeScript("return window.jsErrors || [];");
-            List<String> forbiddenErrors = errors.stream()
-                    .filter(error -> error.contains("403") || error.contains("Forbidden"))
-                    .collect(Collectors.toList());
-
-            if (!forbiddenErrors.isEmpty()) {
-                log.warn("Detected 403 Forbidden errors during page load: {}", forbiddenErrors);
-            }
-        } catch (Exception e) {
-            log.debug("Error checking for 403 errors: {}", e.getMessage());
+        List<String> forbiddenErrors = result.getErrors().stream()
+                .filter(error -> error.contains("403") || error.contains("Forbidden"))
+                .collect(Collectors.toList());
+
+        if (!forbiddenErrors.isEmpty()) {
+            log.warn("Detected 403 Forbidden errors during page load: {}", forbiddenErrors);
         }
 
         log.debug("Page load wait complete");
+        return result;
     }
 
 //    protected void waitForPageToLoad() {
@@ -206,7 +160,7 @@ public abstract class BasePage {
 
     protected void waitForElementPresence(WebElement element, long timeoutInSeconds) {
         log.debug("Waiting for element presence, timeout: {} seconds", timeoutInSeconds);
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+        WebDriverWait wait = new BudgetedWait(driver, Duration.ofSeconds(timeoutInSeconds));
         wait.until(driver -> {
             try {
                 if (element.isDisplayed() || !element.isDisplayed()) {
@@ -228,7 +182,7 @@ public abstract class BasePage {
     protected WebElement waitForElementPresence(By locator, long timeoutInSeconds) {
         log.debug("Waiting for element presence by locator: {}, timeout: {} seconds", locator, timeoutInSeconds);
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+            WebDriverWait wait = new BudgetedWait(driver, Duration.ofSeconds(timeoutInSeconds));
             return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
         } catch (Exception e) {
             log.warn("Element not present within timeout: {}", e.getMessage());
@@ -265,7 +219,7 @@ public abstract class BasePage {
     protected WebElement waitForElementToBeVisible(By locator, long timeoutInSeconds) {
         log.debug("Waiting for element to be visible by locator: {}, timeout: {} seconds", locator, timeoutInSeconds);
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+            WebDriverWait customWait = new BudgetedWait(driver, Duration.ofSeconds(timeoutInSeconds));
             return customWait.until(ExpectedConditions.visibilityOfElementLocated(locator));
         } catch (Exception e) {
             log.warn("Element not visible within timeout: {}", e.getMessage());
@@ -302,7 +256,7 @@ public abstract class BasePage {
     protected WebElement waitForElementToBeClickable(By locator, long timeoutInSeconds) {
         log.debug("Waiting for element to be clickable by locator: {}, timeout: {} seconds", locator, timeoutInSeconds);
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+            WebDriverWait customWait = new BudgetedWait(driver, Duration.ofSeconds(timeoutInSeconds));
             return customWait.until(ExpectedConditions.elementToBeClickable(locator));
         } catch (Exception e) {
             log.warn("Element not clickable within timeout: {}", e.getMessage());
@@ -322,7 +276,8 @@ public abstract class BasePage {
             // First check if loading indicator is present
             if (!driver.findElements(loadingIndicator).isEmpty()) {
                 // Create a new wait with the specified timeout
-                WebDriverWait customWait = new WebDriverWait(driver, Duration.ofMillis(timeoutMillis));
+                WebDriverWait customWait = new BudgetedWait(driver, Duration.ofMillis(timeoutMillis),
+                        "loading complete: " + loadingIndicator);
 
                 // Wait for the loading indicator to have empty text or disappear
                 customWait.until(driver -> {
@@ -385,7 +340,8 @@ public abstract class BasePage {
     protected boolean waitForElementCountToIncrease(By locator, int initialCount, int timeoutSeconds) {
         log.debug("Waiting for element count to increase from {}, timeout: {} seconds", initialCount, timeoutSeconds);
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait customWait = new BudgetedWait(driver, Duration.ofSeconds(timeoutSeconds),
+                    "count increase: " + locator);
             return customWait.until(driver -> {
                 int currentCount = driver.findElements(locator).size();
                 log.debug("Current count: {}, Initial count: {}", currentCount, initialCount);
@@ -416,8 +372,9 @@ public abstract class BasePage {
      */
     protected boolean clickElement(By locator) {
         log.info("Clicking element by locator: {}", locator);
+        WebElement element = null;
         try {
-            WebElement element = waitForElementToBeClickable(locator);
+            element = waitForElementToBeClickable(locator);
             if (element != null) {
                 element.click();
                 return true;
@@ -426,7 +383,12 @@ public abstract class BasePage {
         } catch (Exception e) {
             log.warn("Standard click failed, trying JavaScript click: {}", e.getMessage());
             try {
-                WebElement element = driver.findElement(locator);
+                if (element == null) {
+                    element = waitForElementPresence(locator, ELEMENT_TIMEOUT_SECONDS);
+                }
+                if (element == null) {
+                    return false;
+                }
                 JavascriptExecutor js = (JavascriptExecutor) driver;
                 js.executeScript("arguments[0].click();", element);
                 return true;
@@ -455,7 +417,12 @@ public abstract class BasePage {
     protected boolean isElementDisplayed(By locator) {
         log.debug("Checking if element is displayed by locator: {}", locator);
         try {
-            return driver.findElement(locator).isDisplayed();
+            return withCachedElements(locator, elements -> {
+                if (elements.isEmpty()) {
+                    throw new NoSuchElementException("No element found by " + locator);
+                }
+                return elements.get(0).isDisplayed();
+            });
         } catch (Exception e) {
             log.debug("Element not displayed: {}", e.getMessage());
             return false;
@@ -469,7 +436,7 @@ public abstract class BasePage {
     protected void waitForPageLoadByElement(By locator, long timeoutInSeconds) {
         log.debug("Waiting for page to load by element: {}, timeout: {} seconds", locator, timeoutInSeconds);
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+            WebDriverWait customWait = new BudgetedWait(driver, Duration.ofSeconds(timeoutInSeconds));
             customWait.until(ExpectedConditions.presenceOfElementLocated(locator));
             log.info("Page loaded successfully - element found: {}", locator);
         } catch (Exception e) {
@@ -492,8 +459,7 @@ public abstract class BasePage {
      */
     protected boolean isElementPresent(By locator) {
         try {
-            List<WebElement> elements = driver.findElements(locator);
-            boolean result = !elements.isEmpty();
+            boolean result = withCachedElements(locator, elements -> !elements.isEmpty());
             log.debug("Element with locator '{}' present: {}", locator, result);
             return result;
         } catch (Exception e) {
@@ -509,8 +475,7 @@ public abstract class BasePage {
      */
     protected int getElementCount(By locator) {
         try {
-            List<WebElement> elements = driver.findElements(locator);
-            int count = elements.size();
+            int count = withCachedElements(locator, List::size);
             log.debug("Element count for locator '{}': {}", locator, count);
             return count;
         } catch (Exception e) {
@@ -547,10 +512,7 @@ public abstract class BasePage {
 
         // Capture current page elements
         log.info("Capturing elements on current page: {}", currentUrl);
-        Map<String, Boolean> currentPageElements = new HashMap<>();
-        for (Map.Entry<String, By> entry : elementsToCompare.entrySet()) {
-            currentPageElements.put(entry.getKey(), isElementPresent(entry.getValue()));
-        }
+        Map<String, ElementBatchQuery.ElementPresence> currentPageElements = queryElements(elementsToCompare);
 
         // Navigate to other page
         log.info("Navigating to comparison page: {}", otherPageUrl);
@@ -558,15 +520,13 @@ public abstract class BasePage {
         waitForPageToLoad();
 
         // Capture other page elements
-        Map<String, Boolean> otherPageElements = new HashMap<>();
-        for (Map.Entry<String, By> entry : elementsToCompare.entrySet()) {
-            otherPageElements.put(entry.getKey(), isElementPresent(entry.getValue()));
-        }
+        Map<String, ElementBatchQuery.ElementPresence> otherPageElements = queryElements(elementsToCompare);
 
         // Compare elements
         Map<String, Boolean> comparisonResult = new HashMap<>();
         for (String component : elementsToCompare.keySet()) {
-            boolean isMatching = currentPageElements.get(component) && otherPageElements.get(component);
+            boolean isMatching = currentPageElements.get(component).isPresent()
+                    && otherPageElements.get(component).isPresent();
             comparisonResult.put(component, isMatching);
             log.info("Component '{}' match: {}", component, isMatching);
         }
@@ -577,4 +537,29 @@ public abstract class BasePage {
 
         return comparisonResult;
     }
+
+    /**
+     * Apply a function to the elements matching the locator, reusing the lookup while the DOM is unchanged
+     * @param locator By locator to find elements
+     * @param action Function of the matching elements; a stale cached result is re-resolved once
+     * @return the function's result
+     */
+    protected <T> T withCachedElements(By locator, Function<List<WebElement>, T> action) {
+        LocatorCache cache = LocatorCache.of(driver);
+        if (cache == null) {
+            return action.apply(driver.findElements(locator));
+        }
+        return cache.withElements(locator, action);
+    }
+
+    /**
+     * Resolve presence, count and visibility of many elements in a single browser round-trip
+     * @param locators Map of component names to locators
+     * @return Map of component names to their presence on the current page
+     */
+    protected Map<String, ElementBatchQuery.ElementPresence> queryElements(Map<String, By> locators) {
+        Map<String, ElementBatchQuery.ElementPresence> result = ElementBatchQuery.query(driver, locators);
+        log.debug("Batch element query on {}: {}", driver.getCurrentUrl(), result);
+        return result;
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.guru.selenium.pages;
 
 import com.guru.selenium.config.Configuration;
+import com.guru.selenium.utils.Locators;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
@@ -12,7 +13,7 @@ public class ContentPage extends BasePage {
     private final By aboutHeading = By.cssSelector("h1");
     private final By aboutSections = By.cssSelector(".ContentItem_section__CiLdP");
     private final By contentText = By.cssSelector(".Text_container__s3zN4 p");
-    private final By pageTitle = By.xpath("//span[contains(@class, 'PageDashboardsByTag_title__NmhvS')]");
+    private final By pageTitle = Locators.xpath("//span[contains(@class, 'PageDashboardsByTag_title__NmhvS')]");
 
     private final String pageUrl;
 
@@ -11,7 +11,7 @@ import org.openqa.selenium.By;
 public class HomePage extends BasePage {
 
     @FindBy(xpath = "//button[contains(@class, 'ProfileBar_toggle__AmjKN')]")
-    private WebElement profileButton;
+    WebElement profileButton;
 
     private final By mainMenuContainer = By.id("main-menu");
     private final Navigator navigator;
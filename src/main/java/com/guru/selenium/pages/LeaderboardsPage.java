@@ -1,6 +1,7 @@
 package com.guru.selenium.pages;
 
 import com.guru.selenium.config.Configuration;
+import com.guru.selenium.utils.Locators;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
@@ -14,7 +15,7 @@ public class LeaderboardsPage extends BasePage {
     private final By leaderboardTable = By.cssSelector("table.LeaderboardTable_table__ZrBqx");
     private final By leaderboardRows = By.cssSelector("tr.LeaderboardTable_row__VYYq0");
     private final By leaderboardTabs = By.cssSelector(".Tabs_tab__5q2_i");
-    private final By pageTitle = By.xpath("(//span[contains(@class, 'Caption_container__nh_l0 Caption_header__OVD2p Caption_lg__aWlk2')])[1]");
+    private final By pageTitle = Locators.xpath("(//span[contains(@class, 'Caption_container__nh_l0 Caption_header__OVD2p Caption_lg__aWlk2')])[1]");
 
     private final String pageUrl;
 
@@ -1,36 +1,46 @@
 package com.guru.selenium.pages;
 
 import com.guru.selenium.config.Configuration;
+import com.guru.selenium.utils.BudgetedWait;
+import com.guru.selenium.utils.Locators;
+import com.guru.selenium.utils.MultiStrategyLocator;
+import com.guru.selenium.utils.SessionCache;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
-import java.util.List;
 import java.util.Set;
 
 @Slf4j
 public class LoginPage extends BasePage {
+    // Login trigger inside the Telegram widget iframe; its markup differs between widget versions
+    private static final MultiStrategyLocator TELEGRAM_LOGIN_TRIGGER = new MultiStrategyLocator("telegram-login-trigger",
+            MultiStrategyLocator.Strategy.css("photo", ".login_telegram_photo_wrap"),
+            MultiStrategyLocator.Strategy.css("widget-button", ".tgme_widget_login_button"),
+            MultiStrategyLocator.Strategy.textIn("login-text-button", "button", "log", "sign"));
+
     @FindBy(xpath = "//div[contains(@class, 'login_number_field_wrap')]//input[@id='login-phone']")
-    private WebElement phoneField;
+    WebElement phoneField;
 
     @FindBy(xpath = "//span[@class='Button_caption__baPq2' and text()='Sign In']")
-    private WebElement loginButton;
+    WebElement loginButton;
 
     @FindBy(xpath = "//div[contains(@class, 'Dialog_container__sZ9Tc')]")
-    private WebElement popup;
+    WebElement popup;
 
     @FindBy(xpath = "//button[@class='btn tgme_widget_login_button' and contains(text(), 'Log in with Telegram')]")
-    private WebElement loginWithTelegramButton;
+    WebElement loginWithTelegramButton;
 
     @FindBy(xpath = "//button[@type='submit']")
-    private WebElement nextButton;
+    WebElement nextButton;
 
     @FindBy(xpath = "//iframe[@id='telegram-login-guru_network_stage_bot']")
-    private WebElement telegramLoginIframe;
+    WebElement telegramLoginIframe;
 
     private final String pageUrl;
 
@@ -41,6 +51,47 @@ public class LoginPage extends BasePage {
         log.info("LoginPage initialized with URL: {}", pageUrl);
     }
 
+    /**
+     * Sign in by restoring the cached session snapshot, falling back to the full Telegram flow
+     * when no valid snapshot exists. A successful full login refreshes the snapshot.
+     * @param phone Phone number for the Telegram login
+     * @return true if the user is signed in
+     */
+    public boolean signInWithSessionCache(String phone) {
+        SessionCache sessionCache = SessionCache.getInstance();
+
+        if (sessionCache.restore(driver)) {
+            if (isSignedIn()) {
+                log.info("Signed in from session snapshot");
+                return true;
+            }
+            log.info("Restored session is not signed in, discarding snapshot");
+            sessionCache.invalidate();
+        }
+
+        log.info("Performing full Telegram login");
+        new HomePage().navigateToHomePage();
+        clickLoginButton();
+        waitUntilPopupIsLoaded(5);
+        clickLoginWithTelegramButton();
+        switchToNewWindowAndEnterPhone(phone);
+
+        if (isSignedIn()) {
+            sessionCache.save(driver);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isSignedIn() {
+        try {
+            return new HomePage().isProfileUploaded();
+        } catch (Exception e) {
+            log.debug("Profile not visible: {}", e.getMessage());
+            return false;
+        }
+    }
+
     public void navigateToLoginPage() {
         log.info("Navigating to login page");
         navigateTo(pageUrl);
@@ -69,43 +120,15 @@ public class LoginPage extends BasePage {
         int initialWindowCount = driver.getWindowHandles().size();
         log.info("Initial window count: {}", initialWindowCount);
 
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        WebDriverWait wait = new BudgetedWait(driver, Duration.ofSeconds(10));
         wait.until(ExpectedConditions.visibilityOf(telegramLoginIframe));
         driver.switchTo().frame(telegramLoginIframe);
 
         try {
-            WebElement loginButton = null;
-            try {
-                loginButton = wait.until(ExpectedConditions.elementToBeClickable(
-                        By.cssSelector(".login_telegram_photo_wrap")));
-                log.info("Found Telegram login photo/icon");
-            } catch (Exception e) {
-                log.warn("Could not find Telegram login photo, looking for buttons");
-                try {
-                    loginButton = driver.findElement(By.cssSelector(".tgme_widget_login_button"));
-                } catch (Exception e2) {
-                    log.warn("Could not find tgme button, looking for any login-related element");
-                    try {
-                        List<WebElement> buttons = driver.findElements(By.tagName("button"));
-                        for (WebElement button : buttons) {
-                            if (button.getText().toLowerCase().contains("log") ||
-                                    button.getText().toLowerCase().contains("sign")) {
-                                loginButton = button;
-                                break;
-                            }
-                        }
-                    } catch (Exception e3) {
-                        log.error("Could not find any login button");
-                    }
-                }
-            }
-
-            if (loginButton != null) {
-                log.info("Clicking login trigger element");
-                loginButton.click();
-            } else {
-                log.info("No login button found, the iframe might already be showing the phone form");
-            }
+            TELEGRAM_LOGIN_TRIGGER.find(driver, Duration.ofSeconds(10)).click();
+            log.info("Login trigger element clicked");
+        } catch (TimeoutException e) {
+            log.info("No login button found, the iframe might already be showing the phone form");
         } finally {
             driver.switchTo().defaultContent();
         }
@@ -148,7 +171,7 @@ public class LoginPage extends BasePage {
         try {
             Thread.sleep(2000);
 
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+            WebDriverWait wait = new BudgetedWait(driver, Duration.ofSeconds(10));
             WebElement phoneInput = wait.until(ExpectedConditions.presenceOfElementLocated(
                     By.cssSelector("input#login-phone")));
 
@@ -166,9 +189,9 @@ public class LoginPage extends BasePage {
             log.info("Please complete the manual verification in Telegram app");
 
             try {
-                WebDriverWait longWait = new WebDriverWait(driver, Duration.ofSeconds(60));
+                WebDriverWait longWait = new BudgetedWait(driver, Duration.ofSeconds(60));
                 WebElement acceptButton = longWait.until(ExpectedConditions.elementToBeClickable(
-                        By.xpath("//button[.//span[contains(text(), 'Accept')]]")));
+                        Locators.xpath("//button[.//span[contains(text(), 'Accept')]]")));
 
                 log.info("Accept button found, clicking");
                 acceptButton.click();
@@ -1,25 +1,128 @@
 package com.guru.selenium.pages;
 
+import com.guru.selenium.config.Configuration;
+import com.guru.selenium.utils.BrowserTabs;
+import com.guru.selenium.utils.PagePerformanceCollector;
+import com.guru.selenium.utils.PageReadinessProbe;
+import com.guru.selenium.utils.ScenarioPrefetcher;
+import com.guru.selenium.utils.WaitEngine;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebElement;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
 @Slf4j
 public class MenuPage extends BasePage {
-    private final By tasksMenu = By.cssSelector("a[href='/tasks']");
-    private final By agentsMenu = By.cssSelector("a[href='/agents']");
-    private final By analyticsMenu = By.cssSelector("a[href='/analytics']");
-    private final By tokensMenu = By.cssSelector("a[href='/tokens']");
-    private final By swapMenu = By.cssSelector("a[href='/swap']");
-    private final By leaderboardsMenu = By.cssSelector("a[href='/leaderboards']");
-    private final By contentMenu = By.cssSelector("a[href='/content']");
-    private final By launcherMenu = By.cssSelector("a[href='/launcher']");
+    // Side menu page name -> route; the menu links are located by their href
+    private static final Map<String, String> ROUTES = new LinkedHashMap<>();
+
+    static {
+        ROUTES.put("tasks", "/tasks");
+        ROUTES.put("agents", "/agents");
+        ROUTES.put("analytics", "/analytics");
+        ROUTES.put("tokens", "/tokens");
+        ROUTES.put("swap", "/swap");
+        ROUTES.put("leaderboards", "/leaderboards");
+        ROUTES.put("content", "/content");
+        ROUTES.put("launcher", "/launcher");
+    }
+
+    /**
+     * @return names of the side menu pages, in menu order
+     */
+    public Set<String> getPageNames() {
+        return Collections.unmodifiableSet(ROUTES.keySet());
+    }
 
+    /**
+     * Route of a side menu page; static so hooks can map pages before any page object exists
+     * @param pageName Page name as used in feature files, e.g. tokens
+     * @return path such as /tokens, or null for an unknown page
+     */
+    public static String routeOf(String pageName) {
+        return ROUTES.get(pageName);
+    }
 
+    /**
+     * Load a side menu page directly by its route (a hard navigation, unlike the menu click)
+     * @param pageName Page name as used in feature files, e.g. tokens
+     * @return performance sample of the load, or null if collection is disabled or failed
+     */
+    public PagePerformanceCollector.PerformanceSample loadPage(String pageName) {
+        String route = routeOf(pageName);
+        if (route == null) {
+            throw new IllegalArgumentException("Unknown page: " + pageName);
+        }
+        return navigateTo(baseUrl + route);
+    }
+
+    /**
+     * Open each page in a tab of its own, starting all navigations before waiting for any,
+     * so the pages load concurrently in this browser session
+     * @param pageNames Page names as used in feature files, e.g. tokens
+     * @return the tabs, named by page
+     */
+    public BrowserTabs openPagesInTabs(Collection<String> pageNames) {
+        BrowserTabs tabs = new BrowserTabs(driver);
+        for (String pageName : pageNames) {
+            String route = routeOf(pageName);
+            if (route == null) {
+                tabs.close();
+                throw new IllegalArgumentException("Unknown page: " + pageName);
+            }
+            tabs.open(pageName, baseUrl + route);
+        }
+        log.info("Loading {} pages in parallel tabs", pageNames.size());
+        return tabs;
+    }
+
+    /**
+     * Switch to a page's tab and wait for it to settle
+     * @param tabs Tabs opened by {@link #openPagesInTabs(Collection)}
+     * @param pageName Page name
+     * @return readiness result of the tab
+     */
+    public PageReadinessProbe.Result awaitPageTab(BrowserTabs tabs, String pageName) {
+        long sinceStart = tabs.switchTo(pageName);
+        long start = System.currentTimeMillis();
+        PageReadinessProbe.Result result = awaitTabReadiness(pageName);
+        log.info("Tab {} ready {} ms after its navigation started", pageName, sinceStart + System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Wait for the page in the current tab with the in-page probe, since the DevTools network
+     * monitor only follows the session's first tab
+     */
+    private PageReadinessProbe.Result awaitTabReadiness(String pageName) {
+        Configuration config = Configuration.getInstance();
+        long requested = config.getIntProperty("readiness.timeout", 25000);
+        long granted = WaitEngine.getInstance().allot(requested);
+        long start = System.currentTimeMillis();
+        PageReadinessProbe.Result result = PageReadinessProbe.await(driver, granted,
+                config.getIntProperty("readiness.quietWindow", 500),
+                config.getIntProperty("readiness.maxQuietWait", 5000));
+        WaitEngine.getInstance().record("page readiness in tab " + pageName, requested, granted,
+                System.currentTimeMillis() - start, result.isTimedOut() ? "timeout in " + result.getTimedOutPhase() : "ok");
+        return result;
+    }
 
     public boolean navigateToPage(String pageName, boolean isGuest) {
         log.info("Navigating to {} page as {}", pageName, isGuest ? "guest" : "logged in user");
+        String route = routeOf(pageName);
+        // A prefetched tab replaces the menu click; its load time counts from the switch
+        long switched = System.currentTimeMillis();
+        if (route != null && ScenarioPrefetcher.switchToWarmTab(driver, route)) {
+            awaitTabReadiness(pageName);
+            PagePerformanceCollector.collect(driver, System.currentTimeMillis() - switched);
+            return true;
+        }
         waitForPageToLoad();
             By menuLocator = getMenuLocatorByName(pageName);
             log.info("Navigating to {}", menuLocator);
@@ -30,35 +133,28 @@ public class MenuPage extends BasePage {
             }
 
             WebElement menuItem = waitForElementToBeClickable(menuLocator, 10);
+            long start = System.currentTimeMillis();
 
             try {
                 menuItem.click();
-                return true;
             }catch (Exception e) {
                 log.error("Error while clicking on menu item {}", menuLocator, e);
                 JavascriptExecutor js = (JavascriptExecutor) driver;
                 js.executeScript("arguments[0].click();", menuItem);
                 log.info("Clicked on {} menu item using JavaScript", pageName);
-                waitForPageToLoad();
-                return true;
             }
+            waitForPageToLoad();
+            PagePerformanceCollector.collect(driver, System.currentTimeMillis() - start);
+            return true;
     }
 
     private By getMenuLocatorByName(String pageName) {
-        return switch (pageName) {
-            case "tasks" -> tasksMenu;
-            case "agents" -> agentsMenu;
-            case "analytics" -> analyticsMenu;
-            case "tokens" -> tokensMenu;
-            case "swap" -> swapMenu;
-            case "leaderboards" -> leaderboardsMenu;
-            case "content" -> contentMenu;
-            case "launcher" -> launcherMenu;
-            default -> {
-                log.warn("Unknown page name: {}", pageName);
-                yield null;
-            }
-        };
+        String route = routeOf(pageName);
+        if (route == null) {
+            log.warn("Unknown page name: {}", pageName);
+            return null;
+        }
+        return By.cssSelector("a[href='" + route + "']");
     }
 
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.guru.selenium.pages;
 
+import com.guru.selenium.utils.Locators;
 import com.guru.selenium.utils.Navigator;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
@@ -11,10 +12,10 @@ public class SwapPage extends BasePage {
     private final By swapContainer = By.cssSelector(".content_body__1Ac9z");
     private final By swapForm = By.cssSelector(".Swap_container__GUZeN");
     private final By tokenInputFrom = By.cssSelector(".TokenSelector_selector__s6EeG");
-    private final By tokenInputTo = By.xpath("(//div[contains(@class, 'TokenSelector_selector__s6EeG')])[2]");
-    private final By swapButton = By.xpath("//button[contains(@class, 'Button_button') and .//span[contains(text(), 'Swap')]]");
+    private final By tokenInputTo = Locators.xpath("(//div[contains(@class, 'TokenSelector_selector__s6EeG')])[2]");
+    private final By swapButton = Locators.xpath("//button[contains(@class, 'Button_button') and .//span[contains(text(), 'Swap')]]");
 
-    private final By swapMenuGuest = By.xpath("//span[contains(text(), 'Welcome')]");
+    private final By swapMenuGuest = Locators.xpath("//span[contains(text(), 'Welcome')]");
 
     private final Navigator navigator;
 
@@ -36,11 +37,11 @@ public class SwapPage extends BasePage {
             return wait.until(ExpectedConditions.visibilityOfElementLocated(swapMenuGuest)).isDisplayed();
         } else {
             try {
-                boolean isSwapContainerVisible = isElementDisplayed(swapContainer);
-                boolean isSwapFormVisible = isElementDisplayed(swapForm);
-                boolean isFromInputVisible = isElementDisplayed(tokenInputFrom);
-                boolean isToInputVisible = isElementDisplayed(tokenInputTo);
-                boolean isSwapButtonVisible = isElementDisplayed(swapButton);
+                boolean isSwapContainerVisible = waitForElementToBeVisible(swapContainer, ELEMENT_TIMEOUT_SECONDS) != null;
+                boolean isSwapFormVisible = waitForElementToBeVisible(swapForm, ELEMENT_TIMEOUT_SECONDS) != null;
+                boolean isFromInputVisible = waitForElementToBeVisible(tokenInputFrom, ELEMENT_TIMEOUT_SECONDS) != null;
+                boolean isToInputVisible = waitForElementToBeVisible(tokenInputTo, ELEMENT_TIMEOUT_SECONDS) != null;
+                boolean isSwapButtonVisible = waitForElementToBeVisible(swapButton, ELEMENT_TIMEOUT_SECONDS) != null;
 
                 log.info("Swap page loaded: container: {}, form: {}, from input: {}, to input: {}, swap button: {}",
                         isSwapContainerVisible, isSwapFormVisible, isFromInputVisible, isToInputVisible, isSwapButtonVisible);
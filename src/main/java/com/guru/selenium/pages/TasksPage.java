@@ -1,5 +1,6 @@
 package com.guru.selenium.pages;
 
+import com.guru.selenium.utils.Locators;
 import com.guru.selenium.utils.Navigator;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
@@ -9,7 +10,7 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 public class TasksPage extends BasePage {
     private final By tasksContainer = By.cssSelector(".content_body__1Ac9z");
     private final By taskCards = By.cssSelector(".TaskCard_container__RafuH");
-    private final By pageTitle = By.xpath("//div[contains(@class, 'page_header__vyaGx')]//span[text()='Actions']");
+    private final By pageTitle = Locators.xpath("//div[contains(@class, 'page_header__vyaGx')]//span[text()='Actions']");
 
     private final Navigator navigator;
 
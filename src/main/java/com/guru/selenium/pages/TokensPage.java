@@ -1,12 +1,13 @@
 package com.guru.selenium.pages;
 
+import com.guru.selenium.utils.Locators;
 import com.guru.selenium.utils.Navigator;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Slf4j
@@ -22,7 +23,7 @@ public class TokensPage extends BasePage {
     private final By tokenTagButtons = By.cssSelector(".cloud_tag___wQrd");
     private final By deltaValues = By.cssSelector(".Delta_container__fMWhH");
     private final By footerNavigation = By.cssSelector(".layout_footer__Koz5Z");
-    private final By tokensHeader = By.xpath("//span[contains(text(), 'Tokens Explorer')]");
+    private final By tokensHeader = Locators.xpath("//span[contains(text(), 'Tokens Explorer')]");
 
     // URLs for comparison
     private static final String DEX_TOKENS_URL = "https://dex.guru/tokens";
@@ -46,19 +47,26 @@ public class TokensPage extends BasePage {
         navigateToAndWaitForElement(DEX_TOKENS_URL, tokenMarquee);
     }
 
+    /**
+     * @return the components compared with dex.guru, by name
+     */
+    public Map<String, By> getComparedComponents() {
+        Map<String, By> components = new LinkedHashMap<>();
+        components.put("searchInput", searchInput);
+        components.put("tokenMarquee", tokenMarquee);
+        components.put("tokensList", tokensList);
+        components.put("tokenAssetsItems", tokenAssetsItems);
+        components.put("navigationLinks", navigationLinks);
+        components.put("categoryTabs", categoryTabs);
+        components.put("tokenTagsCloud", tokenTagsCloud);
+        components.put("tokenTagButtons", tokenTagButtons);
+        components.put("deltaValues", deltaValues);
+        components.put("footerNavigation", footerNavigation);
+        return components;
+    }
+
     public Map<String, Boolean> compareComponentsWithDexGuru() {
-        // Create map of components to check
-        Map<String, By> componentsToCheck = new HashMap<>();
-        componentsToCheck.put("searchInput", searchInput);
-        componentsToCheck.put("tokenMarquee", tokenMarquee);
-        componentsToCheck.put("tokensList", tokensList);
-        componentsToCheck.put("tokenAssetsItems", tokenAssetsItems);
-        componentsToCheck.put("navigationLinks", navigationLinks);
-        componentsToCheck.put("categoryTabs", categoryTabs);
-        componentsToCheck.put("tokenTagsCloud", tokenTagsCloud);
-        componentsToCheck.put("tokenTagButtons", tokenTagButtons);
-        componentsToCheck.put("deltaValues", deltaValues);
-        componentsToCheck.put("footerNavigation", footerNavigation);
+        Map<String, By> componentsToCheck = getComparedComponents();
 
         // Use BasePage method to compare with other page
         Map<String, Boolean> comparisonResult = compareElementsWithOtherPage(componentsToCheck, DEX_TOKENS_URL);
@@ -68,11 +76,13 @@ public class TokensPage extends BasePage {
 
         // Check token count on app page
         navigateToTokensPage();
+        waitForElementPresence(tokenAssetsItems, ELEMENT_TIMEOUT_SECONDS);
         int appTokenCount = getElementCount(tokenAssetsItems);
         log.info("Number of token items found on app page: {}", appTokenCount);
 
         // Check token count on dex.guru page
         navigateToDexGuruTokensPage();
+        waitForElementPresence(tokenAssetsItems, ELEMENT_TIMEOUT_SECONDS);
         int dexTokenCount = getElementCount(tokenAssetsItems);
         log.info("Number of token items found on dex.guru page: {}", dexTokenCount);
 
@@ -0,0 +1,190 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.json.Json;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-locator wait latency histograms, persisted per environment across runs.
+ * Once a locator has enough history its timeout is derived from a high percentile plus a margin,
+ * clamped between a floor and a ceiling; until then, and after a timeout in the current run,
+ * the caller's hard-coded timeout is used.
+ */
+@Slf4j
+public class AdaptiveTimeouts {
+    private static AdaptiveTimeouts instance;
+
+    private final Configuration config;
+    private final Json json = new Json();
+    private final Path historyFile;
+    private final Map<String, LocatorLatency> latencies = new ConcurrentHashMap<>();
+
+    private AdaptiveTimeouts() {
+        this.config = Configuration.getInstance();
+        this.historyFile = config.getStateDirectory()
+                .resolve("latency")
+                .resolve(config.getEnvironmentKey() + ".json");
+        load();
+    }
+
+    public static synchronized AdaptiveTimeouts getInstance() {
+        if (instance == null) {
+            instance = new AdaptiveTimeouts();
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return config.getBooleanProperty("latency.adaptive.enabled", true);
+    }
+
+    /**
+     * Timeout for a wait on the given locator
+     * @param key Locator or condition description, e.g. "visibility of element located by By.id: main-menu"
+     * @param fallback Hard-coded timeout used until enough latency history exists
+     * @return learned timeout, or the fallback
+     */
+    public Duration timeoutFor(String key, Duration fallback) {
+        LocatorLatency latency = latencies.get(key);
+        if (!isEnabled() || latency == null || latency.history.getCount() < config.getIntProperty("latency.minSamples", 20)) {
+            return fallback;
+        }
+        // A locator that already timed out in this run goes back to its hard-coded timeout
+        if (latency.timeouts.sum() > 0) {
+            return fallback;
+        }
+        double percentile = Double.parseDouble(config.getProperty("latency.percentile", "99"));
+        double margin = Double.parseDouble(config.getProperty("latency.margin", "0.5"));
+        long learned = Math.round(latency.history.getValueAtPercentile(percentile) * (1 + margin));
+        long floor = config.getIntProperty("latency.floorMillis", 2000);
+        long ceiling = config.getIntProperty("latency.ceilingMillis", 60000);
+        return Duration.ofMillis(Math.max(floor, Math.min(ceiling, learned)));
+    }
+
+    /**
+     * Record how long a successful wait took
+     * @param key Locator or condition description
+     * @param millis Time until the condition was met
+     */
+    public void recordSuccess(String key, long millis) {
+        LocatorLatency latency = latencies.computeIfAbsent(key, k -> new LocatorLatency());
+        latency.history.record(millis);
+        latency.run.record(millis);
+    }
+
+    /**
+     * Record a wait that timed out; timeouts are reported but not added to the histogram
+     * @param key Locator or condition description
+     */
+    public void recordTimeout(String key) {
+        latencies.computeIfAbsent(key, k -> new LocatorLatency()).timeouts.increment();
+    }
+
+    /**
+     * Log locators whose latency in this run drifted from their history, then persist the updated histograms
+     */
+    public synchronized void finishRun() {
+        logDrift();
+        save();
+    }
+
+    private void logDrift() {
+        double threshold = Double.parseDouble(config.getProperty("latency.drift.threshold", "0.5"));
+        int minRunSamples = config.getIntProperty("latency.drift.minSamples", 5);
+        int minSamples = config.getIntProperty("latency.minSamples", 20);
+
+        Map<String, String> drifting = new TreeMap<>();
+        latencies.forEach((key, latency) -> {
+            long timeouts = latency.timeouts.sum();
+            if (timeouts > 0) {
+                drifting.put(key, timeouts + " timeouts this run");
+            }
+            if (latency.run.getCount() < minRunSamples || latency.baselineCount < minSamples) {
+                return;
+            }
+            long runP95 = latency.run.getValueAtPercentile(95);
+            double ratio = (double) runP95 / Math.max(1, latency.baselineP95);
+            if (ratio > 1 + threshold || ratio < 1 / (1 + threshold)) {
+                drifting.merge(key, String.format("p95 %d ms vs %d ms historically (x%.2f)",
+                        runP95, latency.baselineP95, ratio), (a, b) -> a + ", " + b);
+            }
+        });
+
+        if (drifting.isEmpty()) {
+            log.info("No locator latency drift across {} locators", latencies.size());
+            return;
+        }
+        log.warn("Locator latency drift ({} of {} locators):", drifting.size(), latencies.size());
+        drifting.forEach((key, description) -> log.warn("  {}: {}", key, description));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load() {
+        if (!Files.exists(historyFile)) {
+            log.info("No locator latency history at {}", historyFile);
+            return;
+        }
+        try {
+            Map<String, Object> stored = json.toType(Files.readString(historyFile, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            long maxSamples = config.getIntProperty("latency.maxSamples", 5000);
+            stored.forEach((key, value) -> {
+                Map<Integer, Long> buckets = new HashMap<>();
+                ((Map<String, Object>) value).forEach((index, count) ->
+                        buckets.put(Integer.parseInt(index), ((Number) count).longValue()));
+
+                long total = buckets.values().stream().mapToLong(Long::longValue).sum();
+                // Halve old counts until the history fits, so recent runs keep their weight
+                while (total > maxSamples) {
+                    buckets.replaceAll((index, count) -> count / 2);
+                    buckets.values().removeIf(count -> count == 0);
+                    total = buckets.values().stream().mapToLong(Long::longValue).sum();
+                }
+
+                LocatorLatency latency = new LocatorLatency();
+                latency.history.addBucketCounts(buckets);
+                latency.baselineCount = latency.history.getCount();
+                latency.baselineP95 = latency.history.getValueAtPercentile(95);
+                latencies.put(key, latency);
+            });
+            log.info("Loaded latency history for {} locators from {}", latencies.size(), historyFile);
+        } catch (Exception e) {
+            log.warn("Could not read locator latency history: {}", e.getMessage());
+        }
+    }
+
+    private void save() {
+        Map<String, Object> stored = new TreeMap<>();
+        latencies.forEach((key, latency) -> {
+            if (latency.history.getCount() > 0) {
+                Map<String, Long> buckets = new TreeMap<>();
+                latency.history.getBucketCounts().forEach((index, count) -> buckets.put(String.valueOf(index), count));
+                stored.put(key, buckets);
+            }
+        });
+        try {
+            Files.createDirectories(historyFile.getParent());
+            Files.writeString(historyFile, json.toJson(stored), StandardCharsets.UTF_8);
+            log.info("Saved latency history for {} locators to {}", stored.size(), historyFile);
+        } catch (Exception e) {
+            log.warn("Could not save locator latency history: {}", e.getMessage());
+        }
+    }
+
+    private static class LocatorLatency {
+        private final LatencyHistogram history = new LatencyHistogram();
+        private final LatencyHistogram run = new LatencyHistogram();
+        private final LongAdder timeouts = new LongAdder();
+        private long baselineCount;
+        private long baselineP95;
+    }
+}
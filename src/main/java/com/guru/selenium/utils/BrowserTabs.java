@@ -0,0 +1,88 @@
+package com.guru.selenium.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Named tabs of one browser session whose navigations run concurrently. {@link #open(String, String)}
+ * starts loading a URL in a new tab without waiting for it, so the browser loads all tabs at once;
+ * callers then switch to each tab to check it. {@link #close()} closes the tabs and returns to the
+ * tab that was active before.
+ * <p>
+ * Each tab is a target of its own, which the driver's DevTools session does not follow: request
+ * blocking, HAR record/replay, the network idle monitor and the locator cache observer only cover the
+ * first tab. Tabs are therefore refused while HAR record/replay is active, and load unblocked.
+ */
+@Slf4j
+public class BrowserTabs implements AutoCloseable {
+    private final WebDriver driver;
+    private final String originHandle;
+    private final Map<String, String> handles = new LinkedHashMap<>();
+    private final Map<String, Long> openedAt = new LinkedHashMap<>();
+
+    public BrowserTabs(WebDriver driver) {
+        if (HarTraffic.isActive()) {
+            throw new IllegalStateException("Tabs would bypass HAR " + HarTraffic.mode()
+                    + "; run multi-tab scenarios with har.mode=off");
+        }
+        RequestBlocker blocker = RequestBlocker.of(driver);
+        if (blocker != null && blocker.isBlocking()) {
+            log.warn("Request blocking profile {} only covers the first tab; new tabs load everything",
+                    blocker.getProfileName());
+        }
+        this.driver = driver;
+        this.originHandle = driver.getWindowHandle();
+    }
+
+    /**
+     * Open a tab and start navigating it; returns as soon as the navigation has started
+     * @param name Tab name
+     * @param url Absolute URL to load
+     */
+    public void open(String name, String url) {
+        driver.switchTo().newWindow(WindowType.TAB);
+        handles.put(name, driver.getWindowHandle());
+        openedAt.put(name, System.currentTimeMillis());
+        // A script assignment does not block on the page load the way driver.get does
+        ((JavascriptExecutor) driver).executeScript("window.location.href = arguments[0];", url);
+        log.debug("Started loading {} in tab {}", url, name);
+    }
+
+    /**
+     * @param name Tab name
+     * @return milliseconds since the tab's navigation started
+     */
+    public long switchTo(String name) {
+        String handle = handles.get(name);
+        if (handle == null) {
+            throw new IllegalArgumentException("No tab named " + name);
+        }
+        driver.switchTo().window(handle);
+        return System.currentTimeMillis() - openedAt.get(name);
+    }
+
+    public List<String> getNames() {
+        return new ArrayList<>(handles.keySet());
+    }
+
+    @Override
+    public void close() {
+        for (String handle : handles.values()) {
+            try {
+                driver.switchTo().window(handle);
+                driver.close();
+            } catch (Exception e) {
+                log.debug("Could not close tab: {}", e.getMessage());
+            }
+        }
+        handles.clear();
+        driver.switchTo().window(originHandle);
+    }
+}
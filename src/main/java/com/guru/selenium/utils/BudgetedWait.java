@@ -0,0 +1,77 @@
+package com.guru.selenium.utils;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * WebDriverWait that draws its timeout from the {@link WaitEngine} step budget and polls with backoff.
+ * The timeout given here is a fallback: once {@link AdaptiveTimeouts} has enough history for the
+ * condition (ExpectedConditions describe their locator) the learned timeout is used instead.
+ * Behaves like a plain WebDriverWait when wait.budget.enabled=false.
+ */
+public class BudgetedWait extends WebDriverWait {
+    private static final Pattern SESSION_ID = Pattern.compile("[0-9a-fA-F][0-9a-fA-F.-]{15,}");
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final String latencyKey;
+
+    public BudgetedWait(WebDriver driver, Duration timeout) {
+        this(driver, timeout, null);
+    }
+
+    /**
+     * @param driver Driver to wait on
+     * @param timeout Fallback timeout
+     * @param latencyKey Key for latency learning when the condition is a lambda without a useful description
+     */
+    public BudgetedWait(WebDriver driver, Duration timeout, String latencyKey) {
+        super(driver, timeout);
+        this.driver = driver;
+        this.timeout = timeout;
+        this.latencyKey = latencyKey;
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        String key = latencyKey != null ? latencyKey : describe(isTrue);
+        AdaptiveTimeouts timeouts = AdaptiveTimeouts.getInstance();
+        Duration effective = key == null ? timeout : timeouts.timeoutFor(key, timeout);
+
+        WaitEngine engine = WaitEngine.getInstance();
+        long start = System.currentTimeMillis();
+        try {
+            V value;
+            if (engine.isEnabled()) {
+                value = engine.until(driver, key != null ? key : String.valueOf(isTrue), effective.toMillis(), isTrue);
+            } else {
+                withTimeout(effective);
+                value = super.until(isTrue);
+            }
+            if (key != null) {
+                timeouts.recordSuccess(key, System.currentTimeMillis() - start);
+            }
+            return value;
+        } catch (TimeoutException e) {
+            if (key != null) {
+                timeouts.recordTimeout(key);
+            }
+            throw e;
+        }
+    }
+
+    // ExpectedConditions describe themselves with their locator; lambdas only have a synthetic class name.
+    // Session and element ids are masked so the key stays stable across runs.
+    private static String describe(Function<?, ?> condition) {
+        String description = String.valueOf(condition);
+        if (description.contains("$$Lambda") || description.contains("$Lambda$")) {
+            return null;
+        }
+        return SESSION_ID.matcher(description).replaceAll("*");
+    }
+}
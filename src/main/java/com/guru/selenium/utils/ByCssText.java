@@ -0,0 +1,187 @@
+package com.guru.selenium.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSS selector with optional text filters and a result index, the CSS form of an XPath translated by
+ * {@link XPathToCss}. Like the absolute XPath it replaces, it always searches the whole document.
+ * Without filters or index it is a plain native CSS lookup; otherwise selection and filtering run in
+ * a single script.
+ */
+public class ByCssText extends By {
+    // function(root, css, filters, index): elements matching the selector and all filters, document order
+    static final String FIND_FUNCTION =
+            "function(root, css, filters, index) {" +
+            "  function own(el) {" +
+            "    var texts = [];" +
+            "    for (var n = el.firstChild; n; n = n.nextSibling) { if (n.nodeType === 3) { texts.push(n.nodeValue); } }" +
+            "    return texts;" +
+            "  }" +
+            "  function matches(el, f) {" +
+            "    switch (f.mode) {" +
+            "      case 'TEXT_EQUALS': return own(el).indexOf(f.value) >= 0;" +
+            "      case 'TEXT_CONTAINS': var t = own(el); return t.length > 0 && t[0].indexOf(f.value) >= 0;" +
+            "      case 'STRING_EQUALS': return el.textContent === f.value;" +
+            "      case 'STRING_CONTAINS': return el.textContent.indexOf(f.value) >= 0;" +
+            "    }" +
+            "    return false;" +
+            "  }" +
+            "  function accepts(el, f) {" +
+            "    if (!f.scope) { return matches(el, f); }" +
+            "    var inner = el.querySelectorAll(':scope ' + f.scope);" +
+            "    for (var i = 0; i < inner.length; i++) { if (matches(inner[i], f)) { return true; } }" +
+            "    return false;" +
+            "  }" +
+            "  var nodes = root.querySelectorAll(css), found = [];" +
+            "  for (var i = 0; i < nodes.length; i++) {" +
+            "    var ok = true;" +
+            "    for (var j = 0; j < filters.length && ok; j++) { ok = accepts(nodes[i], filters[j]); }" +
+            "    if (ok) { found.push(nodes[i]); }" +
+            "  }" +
+            "  if (index > 0) { return found.length >= index ? [found[index - 1]] : []; }" +
+            "  return found;" +
+            "}";
+
+    private static final String FIND_SCRIPT = "return (" + FIND_FUNCTION + ")(document, arguments[0], arguments[1], arguments[2]);";
+
+    public enum Mode {
+        /** text()='v': some own text node equals the value */
+        TEXT_EQUALS,
+        /** contains(text(), 'v'): the first own text node contains the value */
+        TEXT_CONTAINS,
+        /** .='v': the full text content equals the value */
+        STRING_EQUALS,
+        /** contains(., 'v'): the full text content contains the value */
+        STRING_CONTAINS
+    }
+
+    private final String css;
+    private final List<TextFilter> filters;
+    private final int index;
+
+    /**
+     * @param css Selector for the candidate elements
+     * @param filters Text filters every returned element must pass
+     * @param index 1-based position in the filtered result, or 0 for all elements
+     */
+    public ByCssText(String css, List<TextFilter> filters, int index) {
+        this.css = css;
+        this.filters = Collections.unmodifiableList(new ArrayList<>(filters));
+        this.index = index;
+    }
+
+    public String getCss() {
+        return css;
+    }
+
+    public List<TextFilter> getFilters() {
+        return filters;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return true if this is a plain CSS selector that the browser resolves natively
+     */
+    public boolean isPlainCss() {
+        return filters.isEmpty() && index == 0;
+    }
+
+    /**
+     * @return filters as script arguments for {@link #FIND_FUNCTION}
+     */
+    List<Map<String, Object>> scriptFilters() {
+        List<Map<String, Object>> arguments = new ArrayList<>();
+        for (TextFilter filter : filters) {
+            Map<String, Object> argument = new LinkedHashMap<>();
+            argument.put("scope", filter.getScope());
+            argument.put("mode", filter.getMode().name());
+            argument.put("value", filter.getValue());
+            arguments.add(argument);
+        }
+        return arguments;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<WebElement> findElements(SearchContext context) {
+        if (isPlainCss() && context instanceof WebDriver) {
+            return context.findElements(By.cssSelector(css));
+        }
+        JavascriptExecutor executor = executorOf(context);
+        Object result = executor.executeScript(FIND_SCRIPT, css, scriptFilters(), index);
+        return result instanceof List ? (List<WebElement>) result : new ArrayList<>();
+    }
+
+    private static JavascriptExecutor executorOf(SearchContext context) {
+        if (context instanceof JavascriptExecutor) {
+            return (JavascriptExecutor) context;
+        }
+        if (context instanceof WrapsDriver && ((WrapsDriver) context).getWrappedDriver() instanceof JavascriptExecutor) {
+            return (JavascriptExecutor) ((WrapsDriver) context).getWrappedDriver();
+        }
+        throw new IllegalArgumentException("Cannot run CSS text lookup in " + context);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder("By.cssText: ").append(css);
+        for (TextFilter filter : filters) {
+            description.append(" ").append(filter);
+        }
+        if (index > 0) {
+            description.append(" [").append(index).append("]");
+        }
+        return description.toString();
+    }
+
+    /**
+     * Text condition on the candidate element itself, or on any of its descendants matching a scope selector
+     */
+    public static class TextFilter {
+        private final String scope;
+        private final Mode mode;
+        private final String value;
+
+        /**
+         * @param scope Descendant selector the condition applies to, or null for the element itself
+         * @param mode How the text is compared
+         * @param value Text to compare with
+         */
+        public TextFilter(String scope, Mode mode, String value) {
+            this.scope = scope;
+            this.mode = mode;
+            this.value = value;
+        }
+
+        public String getScope() {
+            return scope;
+        }
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return "{" + (scope == null ? "" : scope + " ") + mode.name().toLowerCase() + " '" + value + "'}";
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.guru.selenium.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects WebDriver command counts and latencies, per command type and per Cucumber scenario step
+ */
+@Slf4j
+public class CommandMetrics {
+    private static final CommandMetrics instance = new CommandMetrics();
+
+    private final ThreadLocal<String> currentScenario = new ThreadLocal<>();
+    private final ThreadLocal<String> currentStep = new ThreadLocal<>();
+
+    private final Map<String, LatencyHistogram> commandHistograms = new ConcurrentHashMap<>();
+    private final Map<String, StepMetrics> stepMetrics = new ConcurrentHashMap<>();
+
+    private CommandMetrics() {
+    }
+
+    public static CommandMetrics getInstance() {
+        return instance;
+    }
+
+    public void setScenario(String scenario) {
+        if (scenario == null) {
+            currentScenario.remove();
+        } else {
+            currentScenario.set(scenario);
+        }
+    }
+
+    public void setStep(String step) {
+        if (step == null) {
+            currentStep.remove();
+        } else {
+            currentStep.set(step);
+        }
+    }
+
+    /**
+     * Record one completed WebDriver command on the current thread
+     * @param command Command type, e.g. findElement or executeScript
+     * @param nanos Wall time of the command
+     */
+    public void record(String command, long nanos) {
+        long micros = nanos / 1000;
+        commandHistograms.computeIfAbsent(command, key -> new LatencyHistogram()).record(micros);
+
+        String scenario = currentScenario.get();
+        String step = currentStep.get();
+        String key = (scenario == null ? "(no scenario)" : scenario) + " > " + (step == null ? "(hooks)" : step);
+        stepMetrics.computeIfAbsent(key, k -> new StepMetrics()).record(command, micros);
+    }
+
+    /**
+     * Log latency percentiles per command and the steps that issued the most commands
+     */
+    public void logSummary() {
+        if (commandHistograms.isEmpty()) {
+            log.info("No WebDriver commands recorded");
+            return;
+        }
+
+        log.info("WebDriver command summary (latency in ms):");
+        log.info(String.format("%-28s %8s %9s %9s %9s %9s %9s", "command", "count", "mean", "p50", "p90", "p99", "max"));
+        commandHistograms.entrySet().stream()
+                .sorted(Map.Entry.<String, LatencyHistogram>comparingByValue(
+                        Comparator.comparingLong(LatencyHistogram::getCount)).reversed())
+                .forEach(entry -> {
+                    LatencyHistogram histogram = entry.getValue();
+                    log.info(String.format("%-28s %8d %9.1f %9.1f %9.1f %9.1f %9.1f", entry.getKey(),
+                            histogram.getCount(), histogram.getMean() / 1000.0,
+                            histogram.getValueAtPercentile(50) / 1000.0,
+                            histogram.getValueAtPercentile(90) / 1000.0,
+                            histogram.getValueAtPercentile(99) / 1000.0,
+                            histogram.getMax() / 1000.0));
+                });
+
+        int topSteps = 15;
+        log.info("Top {} steps by WebDriver command count:", topSteps);
+        stepMetrics.entrySet().stream()
+                .sorted(Map.Entry.<String, StepMetrics>comparingByValue(
+                        Comparator.comparingLong(StepMetrics::getCount)).reversed())
+                .limit(topSteps)
+                .forEach(entry -> log.info("{} commands, {} ms: {} {}", entry.getValue().getCount(),
+                        entry.getValue().getMicros() / 1000, entry.getKey(), entry.getValue().getCommandCounts()));
+    }
+
+    private static class StepMetrics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder micros = new LongAdder();
+        private final Map<String, LongAdder> commandCounts = new ConcurrentHashMap<>();
+
+        void record(String command, long elapsedMicros) {
+            count.increment();
+            micros.add(elapsedMicros);
+            commandCounts.computeIfAbsent(command, key -> new LongAdder()).increment();
+        }
+
+        long getCount() {
+            return count.sum();
+        }
+
+        long getMicros() {
+            return micros.sum();
+        }
+
+        Map<String, LongAdder> getCommandCounts() {
+            return commandCounts;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.guru.selenium.utils;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * WebDriverListener that times every decorated driver/element call and reports it to {@link CommandMetrics}
+ */
+public class CommandMetricsListener implements WebDriverListener {
+    // Accessors that only return another decorated object and never reach the browser
+    private static final Set<String> LOCAL_CALLS = Set.of(
+            "manage", "timeouts", "window", "navigate", "switchTo", "logs",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method);
+    }
+
+    private void finish(Method method) {
+        Deque<Long> stack = startTimes.get();
+        if (stack.isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - stack.pop();
+        if (!LOCAL_CALLS.contains(method.getName())) {
+            CommandMetrics.getInstance().record(method.getName(), elapsed);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.guru.selenium.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+
+/**
+ * Access to the Chrome DevTools Protocol session of a (possibly decorated) driver.
+ * Callers use raw Command/Event names so they do not depend on a version-specific devtools module.
+ */
+@Slf4j
+public final class DevToolsSupport {
+
+    private DevToolsSupport() {
+    }
+
+    /**
+     * DevTools session of the driver, created on first use and shared by all callers
+     * @param driver Driver, unwrapped if it is decorated
+     * @return DevTools with an open session, or null for browsers without CDP support
+     */
+    public static DevTools session(WebDriver driver) {
+        WebDriver raw = unwrap(driver);
+        if (!(raw instanceof HasDevTools)) {
+            return null;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) raw).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            return devTools;
+        } catch (Exception e) {
+            log.warn("Could not open DevTools session: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @param driver Driver, possibly decorated
+     * @return the undecorated driver underneath all wrappers
+     */
+    public static WebDriver unwrap(WebDriver driver) {
+        WebDriver raw = driver;
+        while (raw instanceof WrapsDriver) {
+            raw = ((WrapsDriver) raw).getWrappedDriver();
+        }
+        return raw;
+    }
+}
@@ -0,0 +1,264 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.json.Json;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves browser driver binaries once and remembers them between runs.
+ * The first resolution goes through WebDriverManager (version detection, and a download when needed).
+ * The result is stored in &lt;state dir&gt;/drivers/resolution.json, keyed by browser version, together
+ * with the browser binary's path, size and modification time. Later runs only check that the browser
+ * binary is unchanged and the driver still exists, so they need no version lookups or network access.
+ * Within a run, every driver creation after the first reuses the in-memory result.
+ */
+@Slf4j
+public class DriverBinaryCache {
+    private static final Pattern VERSION = Pattern.compile("\\d+(\\.\\d+)+");
+
+    private static DriverBinaryCache instance;
+
+    private final Json json = new Json();
+    private final Path cacheFile;
+    private final Map<String, Object> stored;
+    private final Map<DriverManagerType, Resolution> resolved = new EnumMap<>(DriverManagerType.class);
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong savedMillis = new AtomicLong();
+
+    private DriverBinaryCache() {
+        this.cacheFile = Configuration.getInstance().getStateDirectory().resolve("drivers").resolve("resolution.json");
+        this.stored = load();
+    }
+
+    public static synchronized DriverBinaryCache getInstance() {
+        if (instance == null) {
+            instance = new DriverBinaryCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Resolve the driver binary for a browser and set its system property (e.g. webdriver.chrome.driver)
+     * @param type Browser type
+     * @return the resolution in use
+     * @throws IllegalStateException if the driver can neither be resolved nor found in the cache
+     */
+    public synchronized Resolution resolve(DriverManagerType type) {
+        Resolution memo = resolved.get(type);
+        if (memo != null) {
+            recordHit(memo, 0);
+            return memo;
+        }
+
+        long start = System.currentTimeMillis();
+        Resolution cached = fromCache(type);
+        if (cached != null) {
+            use(type, cached);
+            recordHit(cached, System.currentTimeMillis() - start);
+            log.info("Using cached {} driver {} ({}) for browser {}", type.getBrowserName(), cached.driverVersion,
+                    cached.driverPath, cached.browserVersion);
+            return cached;
+        }
+
+        Resolution resolution;
+        try {
+            WebDriverManager manager = WebDriverManager.getInstance(type);
+            manager.setup();
+            Path browserPath = manager.getBrowserPath().orElse(null);
+            resolution = new Resolution(manager.getDownloadedDriverVersion() == null ? "" : manager.getDownloadedDriverVersion(),
+                    manager.getDownloadedDriverPath(), browserVersionOf(browserPath), browserPath,
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            Resolution fallback = lastKnown(type);
+            if (fallback == null) {
+                throw new IllegalStateException(type.getBrowserName() + " driver resolution failed", e);
+            }
+            log.warn("Could not resolve {} driver ({}), using last known driver {}", type.getBrowserName(),
+                    e.getMessage(), fallback.driverPath);
+            use(type, fallback);
+            return fallback;
+        }
+        use(type, resolution);
+        store(type, resolution);
+        log.info("Resolved {} driver {} for browser {} in {} ms", type.getBrowserName(), resolution.driverVersion,
+                resolution.browserVersion, resolution.resolveMillis);
+        return resolution;
+    }
+
+    /**
+     * Log how many driver resolutions the cache answered and the startup time that saved
+     */
+    public static synchronized void logStatistics() {
+        if (instance != null && instance.cacheHits.get() > 0) {
+            log.info("Driver resolution cache: {} resolutions served from cache, ~{} ms of startup saved",
+                    instance.cacheHits.get(), instance.savedMillis.get());
+        }
+    }
+
+    private void recordHit(Resolution resolution, long elapsedMillis) {
+        cacheHits.incrementAndGet();
+        savedMillis.addAndGet(Math.max(0, resolution.resolveMillis - elapsedMillis));
+    }
+
+    private void use(DriverManagerType type, Resolution resolution) {
+        System.setProperty(driverProperty(type), resolution.driverPath);
+        resolved.put(type, resolution);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Resolution fromCache(DriverManagerType type) {
+        Map<String, Object> browser = (Map<String, Object>) stored.get(type.getNameLowerCase());
+        if (browser == null || browser.get("path") == null) {
+            return null;
+        }
+        Path browserPath = Path.of(String.valueOf(browser.get("path")));
+        if (!fingerprint(browserPath).equals(browser.get("fingerprint"))) {
+            log.info("{} binary changed since the driver was resolved", type.getBrowserName());
+            return null;
+        }
+        String version = String.valueOf(browser.get("version"));
+        Map<String, Object> entry = ((Map<String, Map<String, Object>>) browser.getOrDefault("drivers", Map.of())).get(version);
+        Resolution resolution = entry == null ? null : toResolution(version, browserPath, entry);
+        return resolution != null && Files.isExecutable(Path.of(resolution.driverPath)) ? resolution : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Resolution lastKnown(DriverManagerType type) {
+        String configured = Configuration.getInstance().getProperty(driverProperty(type), "");
+        if (!configured.isBlank()) {
+            return new Resolution("", configured, "", null, 0);
+        }
+        Map<String, Object> browser = (Map<String, Object>) stored.get(type.getNameLowerCase());
+        if (browser == null) {
+            return null;
+        }
+        String version = String.valueOf(browser.get("version"));
+        Map<String, Object> entry = ((Map<String, Map<String, Object>>) browser.getOrDefault("drivers", Map.of())).get(version);
+        Resolution resolution = entry == null ? null : toResolution(version, null, entry);
+        return resolution != null && Files.isExecutable(Path.of(resolution.driverPath)) ? resolution : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void store(DriverManagerType type, Resolution resolution) {
+        if (resolution.browserPath == null || resolution.browserVersion.isEmpty()) {
+            return;
+        }
+        Map<String, Object> browser = new TreeMap<>((Map<String, Object>) stored.getOrDefault(type.getNameLowerCase(), Map.of()));
+        stored.put(type.getNameLowerCase(), browser);
+        browser.put("path", resolution.browserPath.toString());
+        browser.put("fingerprint", fingerprint(resolution.browserPath));
+        browser.put("version", resolution.browserVersion);
+        Map<String, Object> drivers = new TreeMap<>((Map<String, Object>) browser.getOrDefault("drivers", Map.of()));
+        Map<String, Object> entry = new TreeMap<>();
+        entry.put("driverPath", resolution.driverPath);
+        entry.put("driverVersion", resolution.driverVersion);
+        entry.put("resolveMillis", resolution.resolveMillis);
+        drivers.put(resolution.browserVersion, entry);
+        browser.put("drivers", drivers);
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Files.writeString(cacheFile, json.toJson(stored), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            log.warn("Could not save driver resolution cache: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, Object> load() {
+        if (Files.exists(cacheFile)) {
+            try {
+                Map<String, Object> loaded = json.toType(Files.readString(cacheFile, StandardCharsets.UTF_8), Json.MAP_TYPE);
+                return new TreeMap<>(loaded);
+            } catch (Exception e) {
+                log.warn("Could not read driver resolution cache: {}", e.getMessage());
+            }
+        }
+        return new TreeMap<>();
+    }
+
+    private static Resolution toResolution(String browserVersion, Path browserPath, Map<String, Object> entry) {
+        return new Resolution(String.valueOf(entry.get("driverVersion")), String.valueOf(entry.get("driverPath")),
+                browserVersion, browserPath, ((Number) entry.getOrDefault("resolveMillis", 0)).longValue());
+    }
+
+    /**
+     * Version reported by the browser binary; only asked on a cache miss
+     */
+    private static String browserVersionOf(Path browserPath) {
+        if (browserPath == null) {
+            return "";
+        }
+        try {
+            Process process = new ProcessBuilder(browserPath.toString(), "--version").redirectErrorStream(true).start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            Matcher matcher = VERSION.matcher(output);
+            return matcher.find() ? matcher.group() : "";
+        } catch (Exception e) {
+            log.debug("Could not read browser version of {}: {}", browserPath, e.getMessage());
+            return "";
+        }
+    }
+
+    private static String fingerprint(Path binary) {
+        try {
+            Path real = binary.toRealPath();
+            return real + ":" + Files.size(real) + ":" + Files.getLastModifiedTime(real).toMillis();
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    private static String driverProperty(DriverManagerType type) {
+        switch (type) {
+            case FIREFOX:
+                return "webdriver.gecko.driver";
+            case EDGE:
+                return "webdriver.edge.driver";
+            default:
+                return "webdriver.chrome.driver";
+        }
+    }
+
+    /**
+     * Driver binary resolved for a browser
+     */
+    public static class Resolution {
+        private final String driverVersion;
+        private final String driverPath;
+        private final String browserVersion;
+        private final Path browserPath;
+        private final long resolveMillis;
+
+        private Resolution(String driverVersion, String driverPath, String browserVersion, Path browserPath,
+                           long resolveMillis) {
+            this.driverVersion = driverVersion;
+            this.driverPath = driverPath;
+            this.browserVersion = browserVersion;
+            this.browserPath = browserPath;
+            this.resolveMillis = resolveMillis;
+        }
+
+        public String getDriverPath() {
+            return driverPath;
+        }
+
+        public String getDriverVersion() {
+            return driverVersion;
+        }
+
+        public String getBrowserVersion() {
+            return browserVersion;
+        }
+    }
+}
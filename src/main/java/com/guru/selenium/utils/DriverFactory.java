@@ -1,6 +1,7 @@
 package com.guru.selenium.utils;
 
 import com.guru.selenium.config.Configuration;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
@@ -9,17 +10,33 @@ import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Slf4j
 public class DriverFactory {
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
     private static DriverFactory instance;
     private final Configuration config;
+    private final DriverPool driverPool;
 
     private DriverFactory() {
         this.config = Configuration.getInstance();
+        if (config.getBooleanProperty("driver.pool.enabled", true)) {
+            int poolSize = config.getIntProperty("driver.pool.size", 0);
+            this.driverPool = new DriverPool(this::createDriver,
+                    poolSize > 0 ? poolSize : ParallelExecution.workerCount(),
+                    config.getIntProperty("driver.pool.leaseTimeout", 120000),
+                    new DriverRecyclePolicy(config.getIntProperty("driver.recycle.maxScenarios", 25),
+                            config.getIntProperty("driver.recycle.maxHeapMb", 512),
+                            config.getIntProperty("driver.recycle.probeTimeout", 5000)));
+        } else {
+            this.driverPool = null;
+        }
         log.info("DriverFactory initialized");
     }
 
@@ -32,17 +49,69 @@ public class DriverFactory {
 
     public WebDriver getDriver() {
         if (driverThreadLocal.get() == null) {
-            log.info("No driver found in ThreadLocal, initializing new driver");
-            initializeDriver();
+            if (driverPool != null) {
+                log.info("No driver found in ThreadLocal, leasing driver from pool");
+                leaseDriver();
+            } else {
+                log.info("No driver found in ThreadLocal, initializing new driver");
+                initializeDriver();
+            }
         }
         return driverThreadLocal.get();
     }
 
+    /**
+     * Pre-start pooled drivers in the background. No-op when the pool is disabled.
+     * A warm-up count of 0 starts as many drivers as the pool holds.
+     */
+    public void warmUpPool() {
+        if (driverPool != null) {
+            int warmUp = config.getIntProperty("driver.pool.warmup", 1);
+            driverPool.warmUp(warmUp > 0 ? warmUp : Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Lease a driver for the current thread, typically at the start of a scenario
+     * @return the leased driver
+     */
+    public WebDriver leaseDriver() {
+        if (driverPool == null) {
+            return getDriver();
+        }
+        if (driverThreadLocal.get() == null) {
+            WebDriver driver = driverPool.lease();
+            DriverRegistry.getInstance().setOwner(driver, Thread.currentThread().getName());
+            driverThreadLocal.set(driver);
+        }
+        return driverThreadLocal.get();
+    }
+
+    /**
+     * Reset the current thread's driver and hand it back to the pool.
+     * Without a pool the driver is kept for the next scenario on this thread.
+     */
+    public void releaseDriver() {
+        WebDriver driver = driverThreadLocal.get();
+        if (driverPool == null || driver == null) {
+            return;
+        }
+        driverThreadLocal.remove();
+        DriverRegistry.getInstance().setOwner(driver, "pool");
+        driverPool.release(driver);
+    }
+
     public void initializeDriver() {
         log.info("Initializing WebDriver");
 
         quitDriver();
 
+        WebDriver driver = driverPool != null ? driverPool.lease() : createDriver();
+        DriverRegistry.getInstance().setOwner(driver, Thread.currentThread().getName());
+        driverThreadLocal.set(driver);
+    }
+
+    private WebDriver createDriver() {
         String browser = config.getProperty("browser", "chrome").toLowerCase();
         WebDriver driver;
 
@@ -60,9 +129,11 @@ public class DriverFactory {
                 log.warn("Unsupported browser: {}. Defaulting to Chrome.", browser);
                 driver = createChromeDriver();
         }
+        DriverRegistry.getInstance().register(driver);
 
-        driver.manage().timeouts().implicitlyWait(
-                Duration.ofMillis(config.getIntProperty("timeouts.implicit", 10000)));
+        // Budgeted explicit waits poll on their own; an implicit wait would stall every poll
+        long implicitWait = WaitEngine.getInstance().isEnabled() ? 0 : config.getIntProperty("timeouts.implicit", 10000);
+        driver.manage().timeouts().implicitlyWait(Duration.ofMillis(implicitWait));
         driver.manage().timeouts().pageLoadTimeout(
                 Duration.ofMillis(config.getIntProperty("timeouts.pageLoad", 30000)));
         driver.manage().timeouts().scriptTimeout(
@@ -80,17 +151,34 @@ public class DriverFactory {
             throw new RuntimeException("WebDriver initialization failed", e);
         }
 
-        driverThreadLocal.set(driver);
+        PagePerformanceCollector.install(driver);
+
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (config.getBooleanProperty("metrics.commands.enabled", true)) {
+            listeners.add(new CommandMetricsListener());
+        }
+        LocatorCache locatorCache = new LocatorCache();
+        listeners.add(locatorCache.invalidationListener());
+        listeners.add(DriverRegistry.getInstance().quitListener());
+        listeners.add(VisitedOrigins.listener());
+        driver = new EventFiringDecorator<>(listeners.toArray(new WebDriverListener[0])).decorate(driver);
+        log.debug("WebDriver wrapped with {} listeners", listeners.size());
+        locatorCache.attach(driver);
+        VisitedOrigins.attach(driver);
+
+        if ("network".equalsIgnoreCase(config.getProperty("readiness.mode", "dom"))) {
+            NetworkIdleMonitor.attach(driver);
+        }
+
         log.info("WebDriver initialized: {}", browser);
+        return driver;
     }
 
     private WebDriver createChromeDriver() {
         log.debug("Creating Chrome WebDriver");
 
         try {
-            log.info("Setting up ChromeDriver using WebDriverManager");
-            io.github.bonigarcia.wdm.WebDriverManager.chromedriver().setup();
-            log.info("ChromeDriver set up successfully");
+            DriverBinaryCache.getInstance().resolve(DriverManagerType.CHROME);
         } catch (Exception e) {
             log.warn("Failed to set up ChromeDriver automatically: {}", e.getMessage());
             String chromeDriverPath = config.getProperty("webdriver.chrome.driver");
@@ -116,6 +204,10 @@ public class DriverFactory {
         options.addArguments("--disable-dev-shm-usage");
         options.addArguments("--disable-gpu");
         options.addArguments("--window-size=1920,1080");
+        // Tabs loading in the background (multi-tab page checks) must not be throttled
+        options.addArguments("--disable-background-timer-throttling");
+        options.addArguments("--disable-renderer-backgrounding");
+        options.addArguments("--disable-backgrounding-occluded-windows");
 
         String chromeArgs = config.getProperty("chrome.args", "");
         if (!chromeArgs.isEmpty()) {
@@ -127,16 +219,24 @@ public class DriverFactory {
 
         options.setAcceptInsecureCerts(config.getBooleanProperty("acceptInsecureCerts", true));
 
+        if (HarTraffic.MODE_REPLAY.equals(HarTraffic.mode())) {
+            // Replayed requests are forwarded to the loopback HAR server, which public pages may not reach by default
+            options.addArguments("--disable-features=BlockInsecurePrivateNetworkRequests,"
+                    + "PrivateNetworkAccessSendPreflights,PrivateNetworkAccessRespectPreflightResults");
+        }
+
         log.info("Creating new ChromeDriver instance with options");
-        return new ChromeDriver(options);
+        ChromeDriver driver = new ChromeDriver(options);
+        RequestBlocker.attach(driver);
+        HarTraffic.attach(driver);
+        return driver;
     }
 
     private WebDriver createFirefoxDriver() {
         log.debug("Creating Firefox WebDriver");
 
         try {
-            io.github.bonigarcia.wdm.WebDriverManager.firefoxdriver().setup();
-            log.info("FirefoxDriver set up automatically");
+            DriverBinaryCache.getInstance().resolve(DriverManagerType.FIREFOX);
         } catch (Exception e) {
             log.warn("Failed to set up FirefoxDriver automatically: {}", e.getMessage());
             String geckoDriverPath = config.getProperty("webdriver.gecko.driver");
@@ -162,8 +262,7 @@ public class DriverFactory {
         log.debug("Creating Edge WebDriver");
 
         try {
-            io.github.bonigarcia.wdm.WebDriverManager.edgedriver().setup();
-            log.info("EdgeDriver set up automatically");
+            DriverBinaryCache.getInstance().resolve(DriverManagerType.EDGE);
         } catch (Exception e) {
             log.warn("Failed to set up EdgeDriver automatically: {}", e.getMessage());
             String edgeDriverPath = config.getProperty("webdriver.edge.driver");
@@ -190,6 +289,11 @@ public class DriverFactory {
         WebDriver driver = driverThreadLocal.get();
 
         if (driver != null) {
+            if (driverPool != null) {
+                driverThreadLocal.remove();
+                driverPool.discard(driver);
+                return;
+            }
             try {
                 driver.quit();
                 log.debug("WebDriver quit successfully");
@@ -201,8 +305,16 @@ public class DriverFactory {
         }
     }
 
+    /**
+     * Quit every live driver of the JVM, including those leased or created by other threads
+     */
     public void quitAllDrivers() {
         log.info("Quitting all WebDrivers");
-        quitDriver();
+        driverThreadLocal.remove();
+        if (driverPool != null) {
+            driverPool.logStatistics();
+            driverPool.shutdown();
+        }
+        DriverRegistry.getInstance().quitAll(config.getIntProperty("driver.quit.timeout", 15000));
     }
 }
\ No newline at end of file
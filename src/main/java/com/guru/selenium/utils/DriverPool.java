@@ -0,0 +1,405 @@
+package com.guru.selenium.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of pre-started WebDriver instances that scenarios lease and hand back.
+ * Drivers are health-checked on lease and reset (cookies, storage of every visited origin, extra windows) on release.
+ * On release the {@link DriverRecyclePolicy} may retire a driver: its replacement is started in the
+ * background while the old driver keeps serving, and the old one is quit once the replacement is idle.
+ * Drivers that miss the health probe deadline are quit right away.
+ */
+@Slf4j
+public class DriverPool {
+    // Storage.clearDataForOrigin types; cookies are cleared browser-wide separately
+    private static final String CLEARED_STORAGE_TYPES =
+            "local_storage,indexeddb,websql,cache_storage,service_workers,file_systems";
+
+    private final Supplier<WebDriver> driverSupplier;
+    private final int maxSize;
+    private final long leaseTimeoutMillis;
+    private final DriverRecyclePolicy recyclePolicy;
+
+    private final BlockingDeque<WebDriver> idleDrivers = new LinkedBlockingDeque<>();
+    private final AtomicInteger liveDrivers = new AtomicInteger();
+    private final ExecutorService warmUpExecutor;
+    // Keyed by identity: decorated drivers are proxies
+    private final Map<WebDriver, Integer> scenarioCounts = Collections.synchronizedMap(new IdentityHashMap<>());
+    // Drivers whose replacement is starting, and drivers whose replacement arrived while they were leased
+    private final Set<WebDriver> retiring = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<WebDriver> retired = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Window each driver started with; reset returns to it and closes tabs opened since
+    private final Map<WebDriver, String> mainWindows = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong waits = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong recycled = new AtomicLong();
+    private final AtomicLong hung = new AtomicLong();
+    private final AtomicLong totalLeaseWaitNanos = new AtomicLong();
+    private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+
+    DriverPool(Supplier<WebDriver> driverSupplier, int maxSize, long leaseTimeoutMillis,
+               DriverRecyclePolicy recyclePolicy) {
+        this.driverSupplier = driverSupplier;
+        this.maxSize = Math.max(1, maxSize);
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+        this.recyclePolicy = recyclePolicy;
+        this.warmUpExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "driver-pool-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("DriverPool initialized with max size {}, lease timeout {} ms, recycling {}", this.maxSize,
+                leaseTimeoutMillis, recyclePolicy);
+    }
+
+    /**
+     * Start drivers in the background so the first scenarios find them already running
+     * @param count Number of drivers to pre-start (capped at the pool size)
+     */
+    public void warmUp(int count) {
+        int toStart = Math.min(count, maxSize);
+        log.info("Warming up {} WebDriver instance(s) in the background", toStart);
+        for (int i = 0; i < toStart; i++) {
+            if (!reserveSlot()) {
+                break;
+            }
+            warmUpExecutor.submit(() -> {
+                try {
+                    idleDrivers.offerLast(startDriver());
+                    log.info("Pre-started WebDriver added to pool ({} live)", liveDrivers.get());
+                } catch (Exception e) {
+                    liveDrivers.decrementAndGet();
+                    log.error("Failed to pre-start WebDriver: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Lease a healthy driver, starting a new one if the pool has free capacity
+     * or waiting for another scenario to release one otherwise
+     * @return WebDriver reserved for the caller until {@link #release(WebDriver)}
+     */
+    public WebDriver lease() {
+        long start = System.nanoTime();
+
+        WebDriver driver = pollHealthy();
+        if (driver != null) {
+            recordLease(start, true);
+            return driver;
+        }
+
+        if (reserveSlot()) {
+            try {
+                driver = startDriver();
+            } catch (RuntimeException e) {
+                liveDrivers.decrementAndGet();
+                throw e;
+            }
+            recordLease(start, false);
+            return driver;
+        }
+
+        log.info("All {} pooled WebDrivers are leased, waiting up to {} ms", maxSize, leaseTimeoutMillis);
+        waits.incrementAndGet();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(leaseTimeoutMillis);
+        try {
+            while (System.nanoTime() < deadline) {
+                driver = idleDrivers.pollFirst(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (driver == null) {
+                    break;
+                }
+                if (isHealthy(driver)) {
+                    recordLease(start, true);
+                    return driver;
+                }
+                discard(driver);
+                if (reserveSlot()) {
+                    try {
+                        driver = startDriver();
+                    } catch (RuntimeException e) {
+                        liveDrivers.decrementAndGet();
+                        throw e;
+                    }
+                    recordLease(start, false);
+                    return driver;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a pooled WebDriver", e);
+        }
+
+        throw new RuntimeException("Timed out after " + leaseTimeoutMillis + " ms waiting for a pooled WebDriver");
+    }
+
+    /**
+     * Reset the driver and return it to the pool; drivers that fail to reset are quit.
+     * Drivers that hang or are due for recycling are replaced in the background.
+     * @param driver Previously leased driver
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+
+        int scenarios = scenarioCounts.merge(driver, 1, Integer::sum);
+        synchronized (retiring) {
+            if (retired.remove(driver)) {
+                discardInBackground(driver);
+                return;
+            }
+        }
+
+        if (!recyclePolicy.probe(driver)) {
+            hung.incrementAndGet();
+            discardInBackground(driver);
+            startReplacement(null);
+            return;
+        }
+
+        boolean alreadyRetiring;
+        synchronized (retiring) {
+            alreadyRetiring = retiring.contains(driver);
+        }
+        String recycleReason = alreadyRetiring ? null : recyclePolicy.recycleReason(driver, scenarios);
+
+        if (!resetDriver(driver)) {
+            discard(driver);
+            return;
+        }
+        if (recycleReason != null) {
+            log.info("Recycling pooled WebDriver: {}", recycleReason);
+            recycled.incrementAndGet();
+        }
+        synchronized (retiring) {
+            if (retired.remove(driver)) {
+                // The replacement came up while this driver was being reset
+                discardInBackground(driver);
+                return;
+            }
+            if (recycleReason != null) {
+                retiring.add(driver);
+            }
+            if (retiring.contains(driver)) {
+                // Keeps serving, last in line, until its replacement is up
+                idleDrivers.offerLast(driver);
+            } else {
+                idleDrivers.offerFirst(driver);
+                log.debug("WebDriver returned to pool ({} idle)", idleDrivers.size());
+            }
+        }
+        if (recycleReason != null) {
+            startReplacement(driver);
+        }
+    }
+
+    /**
+     * Quit a driver instead of returning it to the pool
+     * @param driver Driver to quit
+     */
+    public void discard(WebDriver driver) {
+        discarded.incrementAndGet();
+        liveDrivers.decrementAndGet();
+        scenarioCounts.remove(driver);
+        mainWindows.remove(driver);
+        synchronized (retiring) {
+            retiring.remove(driver);
+            retired.remove(driver);
+        }
+        try {
+            driver.quit();
+            log.info("Discarded pooled WebDriver ({} live)", liveDrivers.get());
+        } catch (Exception e) {
+            log.warn("Error quitting discarded WebDriver: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stop background warm-up and forget idle drivers; the drivers themselves are quit by
+     * {@link DriverRegistry#quitAll(long)}
+     */
+    public void shutdown() {
+        log.info("Shutting down DriverPool");
+        warmUpExecutor.shutdownNow();
+        recyclePolicy.shutdown();
+        idleDrivers.clear();
+        liveDrivers.set(0);
+    }
+
+    public void logStatistics() {
+        long leases = hits.get() + misses.get();
+        double hitRate = leases == 0 ? 0 : (double) hits.get() / leases * 100;
+        long averageWaitMillis = leases == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLeaseWaitNanos.get() / leases);
+        log.info("DriverPool statistics: leases={}, hits={}, misses={}, hitRate={}%, blockedLeases={}, " +
+                        "avgLeaseWait={} ms, maxLeaseWait={} ms, discarded={}, recycled={}, hung={}, maxSize={}",
+                leases, hits.get(), misses.get(), String.format("%.1f", hitRate), waits.get(),
+                averageWaitMillis, TimeUnit.NANOSECONDS.toMillis(maxLeaseWaitNanos.get()),
+                discarded.get(), recycled.get(), hung.get(), maxSize);
+    }
+
+    /**
+     * Start a driver in the background. While it starts, the pool may hold one driver more than its size
+     * per retiring driver; the retiring one is quit as soon as the replacement is idle.
+     * @param retiringDriver Driver being replaced, or null if it was already quit
+     */
+    private void startReplacement(WebDriver retiringDriver) {
+        liveDrivers.incrementAndGet();
+        warmUpExecutor.submit(() -> {
+            WebDriver replacement;
+            try {
+                replacement = startDriver();
+            } catch (Exception e) {
+                liveDrivers.decrementAndGet();
+                log.error("Failed to start replacement WebDriver: {}", e.getMessage());
+                if (retiringDriver != null) {
+                    synchronized (retiring) {
+                        retiring.remove(retiringDriver);
+                    }
+                }
+                return;
+            }
+            idleDrivers.offerFirst(replacement);
+            log.info("Replacement WebDriver added to pool ({} live)", liveDrivers.get());
+            if (retiringDriver != null) {
+                synchronized (retiring) {
+                    retiring.remove(retiringDriver);
+                    if (!idleDrivers.removeIf(idle -> idle == retiringDriver)) {
+                        // Leased right now; quit when it comes back
+                        retired.add(retiringDriver);
+                        return;
+                    }
+                }
+                discardInBackground(retiringDriver);
+            }
+        });
+    }
+
+    /**
+     * Quit a driver without blocking the caller; a hung session may take long to quit
+     */
+    private void discardInBackground(WebDriver driver) {
+        try {
+            warmUpExecutor.submit(() -> discard(driver));
+        } catch (RuntimeException e) {
+            discard(driver);
+        }
+    }
+
+    private WebDriver startDriver() {
+        WebDriver driver = driverSupplier.get();
+        mainWindows.put(driver, driver.getWindowHandle());
+        return driver;
+    }
+
+    private WebDriver pollHealthy() {
+        WebDriver driver;
+        while ((driver = idleDrivers.pollFirst()) != null) {
+            if (isHealthy(driver)) {
+                return driver;
+            }
+            discard(driver);
+        }
+        return null;
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = liveDrivers.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (liveDrivers.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void recordLease(long startNanos, boolean hit) {
+        long waited = System.nanoTime() - startNanos;
+        (hit ? hits : misses).incrementAndGet();
+        totalLeaseWaitNanos.addAndGet(waited);
+        maxLeaseWaitNanos.accumulateAndGet(waited, Math::max);
+        log.info("Leased WebDriver from pool ({}) in {} ms", hit ? "hit" : "miss",
+                TimeUnit.NANOSECONDS.toMillis(waited));
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            log.warn("Pooled WebDriver failed health check: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean resetDriver(WebDriver driver) {
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            String mainWindow = mainWindows.getOrDefault(driver, handles.iterator().next());
+            VisitedOrigins visited = VisitedOrigins.of(driver);
+            for (String handle : handles) {
+                if (!handle.equals(mainWindow)) {
+                    driver.switchTo().window(handle);
+                    visited.record(driver.getCurrentUrl());
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(mainWindow);
+
+            // sessionStorage is per tab and has no CDP command, so it is cleared for the current origin only
+            try {
+                ((JavascriptExecutor) driver).executeScript(
+                        "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            } catch (Exception e) {
+                log.debug("Could not clear web storage: {}", e.getMessage());
+            }
+            driver.manage().deleteAllCookies();
+            if (driver instanceof HasCdp) {
+                HasCdp cdp = (HasCdp) driver;
+                cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+                visited.record(driver.getCurrentUrl());
+                for (String origin : visited.drain()) {
+                    try {
+                        cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin,
+                                "storageTypes", CLEARED_STORAGE_TYPES));
+                    } catch (Exception e) {
+                        log.debug("Could not clear storage of {}: {}", origin, e.getMessage());
+                    }
+                }
+            }
+
+            driver.get("about:blank");
+            NetworkIdleMonitor monitor = NetworkIdleMonitor.of(driver);
+            if (monitor != null) {
+                monitor.reset();
+            }
+            ScenarioPrefetcher.startPlanned(driver);
+            log.debug("WebDriver reset for reuse");
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to reset WebDriver for reuse: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.guru.selenium.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Decides when a pooled driver has served long enough: after a number of scenarios, once the page's
+ * JS heap (CDP Performance.getMetrics) crosses a threshold, or when a health probe misses its deadline.
+ * A limit of 0 disables that criterion.
+ */
+@Slf4j
+public class DriverRecyclePolicy {
+    private final int maxScenarios;
+    private final long maxHeapBytes;
+    private final long probeTimeoutMillis;
+    private final ExecutorService probeExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "driver-health-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param maxScenarios Scenarios a driver serves before it is recycled
+     * @param maxHeapMb JS heap size in MB above which a driver is recycled
+     * @param probeTimeoutMillis Deadline for the health probe script
+     */
+    public DriverRecyclePolicy(int maxScenarios, int maxHeapMb, long probeTimeoutMillis) {
+        this.maxScenarios = maxScenarios;
+        this.maxHeapBytes = maxHeapMb * 1024L * 1024L;
+        this.probeTimeoutMillis = probeTimeoutMillis;
+    }
+
+    /**
+     * Run a trivial script against the driver within the probe deadline
+     * @param driver Driver to probe
+     * @return false if the session did not answer in time or failed
+     */
+    public boolean probe(WebDriver driver) {
+        if (probeTimeoutMillis <= 0) {
+            return true;
+        }
+        Future<Object> answer = probeExecutor.submit(() -> ((JavascriptExecutor) driver).executeScript("return 1;"));
+        long start = System.currentTimeMillis();
+        try {
+            answer.get(probeTimeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            answer.cancel(true);
+            log.warn("WebDriver health probe missed its {} ms deadline", probeTimeoutMillis);
+            return false;
+        } catch (Exception e) {
+            log.warn("WebDriver health probe failed after {} ms: {}", System.currentTimeMillis() - start, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @param driver Driver being released, still on the scenario's last page
+     * @param scenarios Scenarios the driver has served so far
+     * @return why the driver should be recycled, or null to keep it
+     */
+    public String recycleReason(WebDriver driver, int scenarios) {
+        if (maxScenarios > 0 && scenarios >= maxScenarios) {
+            return "served " + scenarios + " scenarios";
+        }
+        if (maxHeapBytes > 0) {
+            long heap = heapBytes(driver);
+            if (heap > maxHeapBytes) {
+                return "JS heap at " + heap / (1024 * 1024) + " MB";
+            }
+        }
+        return null;
+    }
+
+    public void shutdown() {
+        probeExecutor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return "maxScenarios=" + maxScenarios + ", maxHeapMb=" + maxHeapBytes / (1024 * 1024)
+                + ", probeTimeout=" + probeTimeoutMillis + " ms";
+    }
+
+    @SuppressWarnings("unchecked")
+    private long heapBytes(WebDriver driver) {
+        if (!(driver instanceof HasCdp)) {
+            return 0;
+        }
+        HasCdp cdp = (HasCdp) driver;
+        try {
+            long heap = jsHeapTotal(cdp.executeCdpCommand("Performance.getMetrics", Map.of()));
+            if (heap < 0) {
+                // Metrics are only collected once the domain is enabled
+                cdp.executeCdpCommand("Performance.enable", Map.of());
+                heap = jsHeapTotal(cdp.executeCdpCommand("Performance.getMetrics", Map.of()));
+            }
+            return Math.max(0, heap);
+        } catch (Exception e) {
+            log.debug("Could not read JS heap size: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long jsHeapTotal(Map<String, Object> result) {
+        for (Map<String, Object> metric : (List<Map<String, Object>>) result.getOrDefault("metrics", List.of())) {
+            if ("JSHeapTotalSize".equals(metric.get("name"))) {
+                return ((Number) metric.get("value")).longValue();
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,274 @@
+package com.guru.selenium.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every live WebDriver of the JVM, whichever thread created or leased it, with its owner, age and browser
+ * process. {@link #quitAll(long)} quits them all in parallel and kills the process tree of any driver
+ * whose quit does not finish in time. Memory is the resident size of the browser process tree, read from
+ * /proc where available.
+ */
+@Slf4j
+public class DriverRegistry {
+    private static DriverRegistry instance;
+
+    // Keyed by the undecorated driver, which is what WebDriverListener.afterQuit receives
+    private final Map<WebDriver, LiveDriver> drivers = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private DriverRegistry() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::killRemaining, "driver-registry-shutdown"));
+    }
+
+    public static synchronized DriverRegistry getInstance() {
+        if (instance == null) {
+            instance = new DriverRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * @param driver Newly created driver, before decoration
+     */
+    public void register(WebDriver driver) {
+        LiveDriver live = new LiveDriver(driver, Thread.currentThread().getName(), Instant.now(), browserProcess(driver));
+        drivers.put(driver, live);
+        log.debug("Registered WebDriver (browser pid {}), {} live", live.browserPid, drivers.size());
+    }
+
+    /**
+     * Record the thread currently using the driver
+     * @param driver Driver as handed out by DriverFactory
+     * @param owner Owner name, e.g. the leasing thread
+     */
+    public void setOwner(WebDriver driver, String owner) {
+        LiveDriver live = drivers.get(DevToolsSupport.unwrap(driver));
+        if (live != null) {
+            live.owner = owner;
+        }
+    }
+
+    /**
+     * @return listener that drops drivers from the registry once they have quit
+     */
+    public WebDriverListener quitListener() {
+        return new WebDriverListener() {
+            @Override
+            public void afterQuit(WebDriver driver) {
+                drivers.remove(driver);
+            }
+        };
+    }
+
+    public int getLiveCount() {
+        return drivers.size();
+    }
+
+    /**
+     * @return resident memory of all live browser process trees, or -1 if it cannot be read on this platform
+     */
+    public long getMemoryBytes() {
+        long total = 0;
+        for (LiveDriver live : getLiveDrivers()) {
+            long memory = live.getMemoryBytes();
+            if (memory < 0) {
+                return -1;
+            }
+            total += memory;
+        }
+        return total;
+    }
+
+    public List<LiveDriver> getLiveDrivers() {
+        synchronized (drivers) {
+            return new ArrayList<>(drivers.values());
+        }
+    }
+
+    /**
+     * Quit every live driver in parallel; kill the browser process tree of those that do not quit in time
+     * @param timeoutMillis Time allowed for all graceful quits together
+     */
+    public void quitAll(long timeoutMillis) {
+        List<LiveDriver> live = getLiveDrivers();
+        if (live.isEmpty()) {
+            return;
+        }
+        long memory = getMemoryBytes();
+        log.info("Quitting {} live WebDriver(s){}", live.size(), memory < 0 ? "" : " using " + memory / (1024 * 1024) + " MB");
+        live.forEach(driver -> log.info("  {}", driver));
+
+        ExecutorService executor = Executors.newFixedThreadPool(live.size(), runnable -> {
+            Thread thread = new Thread(runnable, "driver-registry-quit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> quits = new ArrayList<>();
+        for (LiveDriver driver : live) {
+            quits.add(executor.submit(() -> driver.driver.quit()));
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        int killed = 0;
+        for (int i = 0; i < live.size(); i++) {
+            LiveDriver driver = live.get(i);
+            try {
+                quits.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                log.warn("WebDriver owned by {} did not quit cleanly ({}), killing its processes", driver.owner,
+                        e.getClass().getSimpleName());
+                if (driver.kill()) {
+                    killed++;
+                }
+            }
+            drivers.remove(driver.driver);
+        }
+        executor.shutdownNow();
+        log.info("Quit {} WebDriver(s), {} killed", live.size(), killed);
+    }
+
+    private void killRemaining() {
+        List<LiveDriver> live = getLiveDrivers();
+        if (!live.isEmpty()) {
+            log.warn("Killing {} WebDriver(s) still running at JVM exit", live.size());
+            live.forEach(LiveDriver::kill);
+        }
+    }
+
+    /**
+     * Firefox reports its process id; Chromium browsers are found among this JVM's descendant processes
+     * by the per-session user data directory the driver launched them with
+     */
+    @SuppressWarnings("unchecked")
+    private static ProcessHandle browserProcess(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) {
+            return null;
+        }
+        Capabilities capabilities = ((HasCapabilities) driver).getCapabilities();
+        Object firefoxPid = capabilities.getCapability("moz:processID");
+        if (firefoxPid instanceof Number) {
+            return ProcessHandle.of(((Number) firefoxPid).longValue()).orElse(null);
+        }
+        for (String browserKey : List.of("chrome", "msedge")) {
+            Object browser = capabilities.getCapability(browserKey);
+            if (!(browser instanceof Map) || ((Map<String, Object>) browser).get("userDataDir") == null) {
+                continue;
+            }
+            String userDataArgument = "--user-data-dir=" + ((Map<String, Object>) browser).get("userDataDir");
+            // The browser process is the topmost one in the tree carrying the argument
+            return ProcessHandle.current().descendants()
+                    .filter(process -> process.info().arguments()
+                            .map(arguments -> List.of(arguments).contains(userDataArgument)).orElse(false))
+                    .filter(process -> process.parent()
+                            .flatMap(parent -> parent.info().arguments())
+                            .map(arguments -> !List.of(arguments).contains(userDataArgument)).orElse(true))
+                    .findFirst()
+                    .orElse(null);
+        }
+        return null;
+    }
+
+    /**
+     * Live driver with its owner, creation time and browser process
+     */
+    public static class LiveDriver {
+        private final WebDriver driver;
+        private final Instant created;
+        private final ProcessHandle browser;
+        private final long browserPid;
+        private volatile String owner;
+
+        private LiveDriver(WebDriver driver, String owner, Instant created, ProcessHandle browser) {
+            this.driver = driver;
+            this.owner = owner;
+            this.created = created;
+            this.browser = browser;
+            this.browserPid = browser == null ? -1 : browser.pid();
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public Duration getAge() {
+            return Duration.between(created, Instant.now());
+        }
+
+        public long getBrowserPid() {
+            return browserPid;
+        }
+
+        /**
+         * @return resident memory of the browser and its child processes, -1 if unknown
+         */
+        public long getMemoryBytes() {
+            if (browser == null || !browser.isAlive()) {
+                return browser == null ? -1 : 0;
+            }
+            long total = residentBytes(browser.pid());
+            if (total < 0) {
+                return -1;
+            }
+            for (ProcessHandle child : (Iterable<ProcessHandle>) browser.descendants()::iterator) {
+                total += Math.max(0, residentBytes(child.pid()));
+            }
+            return total;
+        }
+
+        /**
+         * Kill the driver's browser process tree, including the driver server that launched it
+         * @return false if the browser process is unknown
+         */
+        boolean kill() {
+            if (browser == null) {
+                log.warn("Browser process of WebDriver owned by {} is unknown, cannot kill it", owner);
+                return false;
+            }
+            Optional<ProcessHandle> driverServer = browser.parent()
+                    .filter(parent -> parent.info().command().map(command -> command.contains("driver")).orElse(false));
+            ProcessHandle root = driverServer.orElse(browser);
+            root.descendants().forEach(ProcessHandle::destroyForcibly);
+            root.destroyForcibly();
+            return true;
+        }
+
+        private static long residentBytes(long pid) {
+            Path status = Path.of("/proc", Long.toString(pid), "status");
+            try {
+                for (String line : Files.readAllLines(status, StandardCharsets.UTF_8)) {
+                    if (line.startsWith("VmRSS:")) {
+                        return Long.parseLong(line.replaceAll("\\D+", "")) * 1024;
+                    }
+                }
+                return 0;
+            } catch (Exception e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public String toString() {
+            long memory = getMemoryBytes();
+            return "owner=" + owner + ", age=" + getAge().toSeconds() + " s, browserPid=" + browserPid
+                    + (memory < 0 ? "" : ", memory=" + memory / (1024 * 1024) + " MB");
+        }
+    }
+}
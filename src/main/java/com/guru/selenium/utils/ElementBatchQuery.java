@@ -0,0 +1,172 @@
+package com.guru.selenium.utils;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves presence, count and visibility for many locators with one injected script
+ * instead of one findElements round-trip per locator
+ */
+@Slf4j
+public final class ElementBatchQuery {
+
+    private static final String BATCH_SCRIPT =
+            "var queries = arguments[0], results = {};" +
+            "function visible(el) {" +
+            "  var style = window.getComputedStyle(el);" +
+            "  return style.visibility !== 'hidden' && style.display !== 'none' &&" +
+            "    !!(el.offsetWidth || el.offsetHeight || el.getClientRects().length);" +
+            "}" +
+            "function find(query) {" +
+            "  var value = query.value;" +
+            "  switch (query.using) {" +
+            "    case 'css selector': return Array.prototype.slice.call(document.querySelectorAll(value));" +
+            "    case 'xpath':" +
+            "      var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "      var nodes = [];" +
+            "      for (var i = 0; i < snapshot.snapshotLength; i++) { nodes.push(snapshot.snapshotItem(i)); }" +
+            "      return nodes;" +
+            "    case 'link text':" +
+            "      return Array.prototype.filter.call(document.querySelectorAll('a'), function(a) {" +
+            "        return a.textContent.trim() === value; });" +
+            "    case 'partial link text':" +
+            "      return Array.prototype.filter.call(document.querySelectorAll('a'), function(a) {" +
+            "        return a.textContent.indexOf(value) !== -1; });" +
+            "  }" +
+            "  return null;" +
+            "}" +
+            "queries.forEach(function(query) {" +
+            "  try {" +
+            "    var elements = find(query);" +
+            "    if (elements === null) { results[query.key] = null; return; }" +
+            "    var visibleCount = elements.filter(function(el) { return el.nodeType === 1 && visible(el); }).length;" +
+            "    results[query.key] = {count: elements.length, visible: visibleCount};" +
+            "  } catch (e) {" +
+            "    results[query.key] = {count: 0, visible: 0, error: String(e)};" +
+            "  }" +
+            "});" +
+            "return results;";
+
+    private static final AtomicLong batches = new AtomicLong();
+    private static final AtomicLong roundTripsUsed = new AtomicLong();
+    private static final AtomicLong roundTripsSaved = new AtomicLong();
+
+    private ElementBatchQuery() {
+    }
+
+    /**
+     * Query all locators at once
+     * @param driver WebDriver to query
+     * @param locators Map of names to locators
+     * @return Map of the same names to their presence, in the order given
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, ElementPresence> query(WebDriver driver, Map<String, By> locators) {
+        List<Map<String, Object>> queries = new ArrayList<>();
+        Map<String, By> fallback = new LinkedHashMap<>();
+
+        for (Map.Entry<String, By> entry : locators.entrySet()) {
+            if (entry.getValue() instanceof By.Remotable remotable) {
+                By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+                Map<String, Object> query = new HashMap<>();
+                query.put("key", entry.getKey());
+                query.put("using", parameters.using());
+                query.put("value", parameters.value());
+                queries.add(query);
+            } else {
+                fallback.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        Map<String, ElementPresence> results = new LinkedHashMap<>();
+        int used = 0;
+
+        if (!queries.isEmpty()) {
+            Map<String, Object> raw = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(BATCH_SCRIPT, queries);
+            used++;
+            for (Map<String, Object> query : queries) {
+                String key = (String) query.get("key");
+                Object value = raw == null ? null : raw.get(key);
+                if (value instanceof Map) {
+                    Map<String, Object> counts = (Map<String, Object>) value;
+                    if (counts.get("error") != null) {
+                        log.warn("Batch query for '{}' failed in browser: {}", key, counts.get("error"));
+                    }
+                    results.put(key, new ElementPresence(((Number) counts.get("count")).intValue(),
+                            ((Number) counts.get("visible")).intValue()));
+                } else {
+                    fallback.put(key, locators.get(key));
+                }
+            }
+        }
+
+        for (Map.Entry<String, By> entry : fallback.entrySet()) {
+            List<WebElement> elements = driver.findElements(entry.getValue());
+            used++;
+            int visible = 0;
+            for (WebElement element : elements) {
+                used++;
+                try {
+                    if (element.isDisplayed()) {
+                        visible++;
+                    }
+                } catch (Exception e) {
+                    log.debug("Could not check visibility for '{}': {}", entry.getKey(), e.getMessage());
+                }
+            }
+            results.put(entry.getKey(), new ElementPresence(elements.size(), visible));
+        }
+
+        // The per-locator alternative is one findElements call per locator
+        int perLocator = locators.size();
+        batches.incrementAndGet();
+        roundTripsUsed.addAndGet(used);
+        roundTripsSaved.addAndGet(Math.max(0, perLocator - used));
+        log.debug("Batch query of {} locators: {} WebDriver call(s) instead of {}", locators.size(), used, perLocator);
+
+        // Preserve the caller's key order
+        Map<String, ElementPresence> ordered = new LinkedHashMap<>();
+        locators.keySet().forEach(key -> ordered.put(key, results.get(key)));
+        return ordered;
+    }
+
+    public static void logStatistics() {
+        log.info("Element batch queries: batches={}, WebDriver calls used={}, round-trips saved={}",
+                batches.get(), roundTripsUsed.get(), roundTripsSaved.get());
+    }
+
+    @Getter
+    public static class ElementPresence {
+        private final int count;
+        private final int visibleCount;
+
+        public ElementPresence(int count, int visibleCount) {
+            this.count = count;
+            this.visibleCount = visibleCount;
+        }
+
+        public boolean isPresent() {
+            return count > 0;
+        }
+
+        public boolean isVisible() {
+            return visibleCount > 0;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count + ", visible=" + visibleCount;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.pages.MenuPage;
+import com.guru.selenium.pages.TokensPage;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+
+/**
+ * Benchmark tool: times {@link ElementBatchQuery} against one findElements call per locator, using the
+ * tokens page components that the dex.guru comparison checks.
+ * <p>
+ * Usage: mvn compile exec:java -Dexec.mainClass=com.guru.selenium.utils.ElementQueryBenchmark
+ * -Dexec.args="[iterations]"
+ */
+@Slf4j
+public class ElementQueryBenchmark {
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        try {
+            new MenuPage().loadPage("tokens");
+            benchmark(DriverFactory.getInstance().getDriver(), new TokensPage().getComparedComponents(), iterations);
+        } finally {
+            DriverFactory.getInstance().quitAllDrivers();
+        }
+    }
+
+    /**
+     * Compare the batch query against per-locator findElements calls on the current page
+     * @param driver WebDriver to query
+     * @param locators Map of names to locators
+     * @param iterations Number of timed repetitions of each approach
+     */
+    public static void benchmark(WebDriver driver, Map<String, By> locators, int iterations) {
+        long perLocatorNanos = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            for (By locator : locators.values()) {
+                driver.findElements(locator);
+            }
+            perLocatorNanos += System.nanoTime() - start;
+        }
+
+        long batchNanos = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            ElementBatchQuery.query(driver, locators);
+            batchNanos += System.nanoTime() - start;
+        }
+
+        log.info("Element query benchmark on {} ({} locators, {} iterations): per-locator {} calls / {} ms, " +
+                        "batch 1 call / {} ms",
+                driver.getCurrentUrl(), locators.size(), iterations, locators.size(),
+                perLocatorNanos / iterations / 1_000_000, batchNanos / iterations / 1_000_000);
+        ElementBatchQuery.logStatistics();
+    }
+}
@@ -0,0 +1,129 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local HTTP stand-in that serves recorded HAR responses during replay.
+ * {@link HarTraffic} registers the entry chosen for a paused browser request and forwards the request
+ * here; each registered response is served once, at /har/&lt;token&gt;.
+ */
+@Slf4j
+public class HarReplayServer {
+    // Headers describing the original transfer, not the decoded body that was recorded
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "content-encoding", "content-length", "transfer-encoding", "connection", "keep-alive");
+
+    private static HarReplayServer instance;
+
+    private final HttpServer server;
+    private final String baseUrl;
+    private final Map<String, Map<String, Object>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong tokens = new AtomicLong();
+    private final AtomicLong served = new AtomicLong();
+
+    private HarReplayServer() throws IOException {
+        int port = Configuration.getInstance().getIntProperty("har.replay.port", 0);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/har/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "har-replay-server");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/har/";
+        log.info("HAR replay server listening on {}", baseUrl);
+    }
+
+    public static synchronized HarReplayServer getInstance() {
+        if (instance == null) {
+            try {
+                instance = new HarReplayServer();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not start HAR replay server", e);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @param entry HAR entry whose response is served next
+     * @return URL serving the response once
+     */
+    public String register(Map<String, Object> entry) {
+        String token = Long.toString(tokens.incrementAndGet());
+        pending.put(token, entry);
+        return baseUrl + token;
+    }
+
+    public long getServedCount() {
+        return served.get();
+    }
+
+    public static synchronized void stop() {
+        if (instance != null) {
+            instance.server.stop(0);
+            log.info("HAR replay server stopped after serving {} responses", instance.served.get());
+            instance = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Headers headers = exchange.getResponseHeaders();
+            if ("OPTIONS".equals(exchange.getRequestMethod())) {
+                // Private network access preflight from a public page to this loopback server
+                String origin = exchange.getRequestHeaders().getFirst("Origin");
+                headers.add("Access-Control-Allow-Origin", origin == null ? "*" : origin);
+                headers.add("Access-Control-Allow-Private-Network", "true");
+                headers.add("Access-Control-Allow-Methods", "GET, POST, PUT, PATCH, DELETE, OPTIONS");
+                String requested = exchange.getRequestHeaders().getFirst("Access-Control-Request-Headers");
+                if (requested != null) {
+                    headers.add("Access-Control-Allow-Headers", requested);
+                }
+                exchange.sendResponseHeaders(204, -1);
+                return;
+            }
+
+            String token = exchange.getRequestURI().getPath().substring("/har/".length());
+            Map<String, Object> entry = pending.remove(token);
+            if (entry == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            Map<String, Object> response = (Map<String, Object>) entry.get("response");
+            for (Map<String, Object> header : (List<Map<String, Object>>) response.getOrDefault("headers", List.of())) {
+                String name = String.valueOf(header.get("name"));
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                    headers.add(name, String.valueOf(header.get("value")));
+                }
+            }
+            byte[] body = HarTraffic.responseBody(entry);
+            int status = ((Number) response.get("status")).intValue();
+            boolean noBody = body.length == 0 || status == 204 || status == 304 || "HEAD".equals(exchange.getRequestMethod());
+            exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+            if (!noBody) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            served.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the HTTP traffic of each scenario into a HAR file, or replays it without touching the network.
+ * Both modes intercept requests through the DevTools Fetch domain. Recording captures every response with
+ * its body; replay forwards every request to the {@link HarReplayServer} stand-in, which serves the
+ * recorded response (or fulfills it directly when har.replay.transport=fulfill). Repeated requests
+ * replay their recorded responses in order; requests missing from the recording fail, or go to the
+ * network when har.replay.unmatched=live. WebSocket traffic is not covered.
+ */
+@Slf4j
+public class HarTraffic {
+    public static final String MODE_OFF = "off";
+    public static final String MODE_RECORD = "record";
+    public static final String MODE_REPLAY = "replay";
+
+    // Sessions per browser session, keyed by the undecorated driver
+    private static final Map<WebDriver, HarTraffic> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final DevTools devTools;
+    private final String mode;
+    private final Json json = new Json();
+    private final List<Map<String, Object>> recorded = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, List<Map<String, Object>>> replayEntries = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> replayCursors = new ConcurrentHashMap<>();
+    private volatile Path harFile;
+    private volatile boolean fulfillDirectly;
+    private final AtomicInteger replayed = new AtomicInteger();
+    private final AtomicInteger unmatched = new AtomicInteger();
+
+    private HarTraffic(DevTools devTools, String mode) {
+        this.devTools = devTools;
+        this.mode = mode;
+        this.fulfillDirectly = "fulfill".equalsIgnoreCase(
+                Configuration.getInstance().getProperty("har.replay.transport", "server"));
+    }
+
+    /**
+     * @return configured mode: off, record or replay
+     */
+    public static String mode() {
+        return Configuration.getInstance().getProperty("har.mode", MODE_OFF).trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static boolean isActive() {
+        return !MODE_OFF.equals(mode());
+    }
+
+    /**
+     * Start intercepting the driver's requests if har.mode is record or replay
+     * @param driver Chrome driver, before decoration
+     * @return the session, or null if HAR mode is off or DevTools is not available
+     */
+    @SuppressWarnings("unchecked")
+    public static HarTraffic attach(WebDriver driver) {
+        String mode = mode();
+        if (!MODE_RECORD.equals(mode) && !MODE_REPLAY.equals(mode)) {
+            return null;
+        }
+        DevTools devTools = DevToolsSupport.session(driver);
+        if (devTools == null) {
+            log.warn("DevTools not available, HAR {} disabled for this driver", mode);
+            return null;
+        }
+        HarTraffic traffic = new HarTraffic(devTools, mode);
+        try {
+            String stage = MODE_RECORD.equals(mode) ? "Response" : "Request";
+            devTools.send(new Command<>("Fetch.enable",
+                    Map.of("patterns", List.of(Map.of("urlPattern", "*", "requestStage", stage)))));
+            devTools.addListener(new Event<>("Fetch.requestPaused", input -> (Map<String, Object>) input.read(Json.MAP_TYPE)),
+                    MODE_RECORD.equals(mode) ? traffic::onResponsePaused : traffic::onRequestPaused);
+        } catch (Exception e) {
+            log.warn("Could not enable HAR {}: {}", mode, e.getMessage());
+            return null;
+        }
+        if (MODE_REPLAY.equals(mode) && !traffic.fulfillDirectly) {
+            HarReplayServer.getInstance();
+        }
+        sessions.put(driver, traffic);
+        log.info("HAR {} enabled", mode);
+        return traffic;
+    }
+
+    /**
+     * @param driver Driver as handed out by DriverFactory
+     * @return the attached session, or null if none was attached
+     */
+    public static HarTraffic of(WebDriver driver) {
+        return sessions.get(DevToolsSupport.unwrap(driver));
+    }
+
+    /**
+     * Select the scenario's HAR file: start recording into it, or load it for replay
+     * @param featureUri URI of the feature file
+     * @param scenarioName Scenario name
+     * @param line Line of the scenario (distinguishes outline examples)
+     */
+    public void beginScenario(URI featureUri, String scenarioName, int line) {
+        String feature = Path.of(featureUri.getPath()).getFileName().toString().replaceFirst("\\.feature$", "");
+        harFile = harDirectory().resolve(feature).resolve(slug(scenarioName) + "-" + line + ".har");
+        recorded.clear();
+        replayEntries.clear();
+        replayCursors.clear();
+        replayed.set(0);
+        unmatched.set(0);
+        if (MODE_REPLAY.equals(mode)) {
+            loadRecording();
+        }
+    }
+
+    /**
+     * Write the recording of the scenario, or log replay statistics
+     */
+    public void endScenario() {
+        Path file = harFile;
+        harFile = null;
+        if (file == null) {
+            return;
+        }
+        if (MODE_REPLAY.equals(mode)) {
+            log.info("HAR replay of {}: {} responses replayed, {} requests not in the recording",
+                    file.getFileName(), replayed.get(), unmatched.get());
+            return;
+        }
+        List<Map<String, Object>> entries;
+        synchronized (recorded) {
+            entries = new ArrayList<>(recorded);
+            recorded.clear();
+        }
+        Map<String, Object> creator = new LinkedHashMap<>();
+        creator.put("name", "guru-network-selenium");
+        creator.put("version", "1.0");
+        Map<String, Object> harLog = new LinkedHashMap<>();
+        harLog.put("version", "1.2");
+        harLog.put("creator", creator);
+        harLog.put("entries", entries);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, json.toJson(Map.of("log", harLog)), StandardCharsets.UTF_8);
+            log.info("Recorded {} HTTP exchanges to {}", entries.size(), file);
+        } catch (Exception e) {
+            log.warn("Could not write HAR file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Decoded response body of a HAR entry
+     * @param entry HAR entry
+     * @return body bytes, empty if the entry has no content text
+     */
+    @SuppressWarnings("unchecked")
+    static byte[] responseBody(Map<String, Object> entry) {
+        Map<String, Object> content = (Map<String, Object>) ((Map<String, Object>) entry.get("response"))
+                .getOrDefault("content", Map.of());
+        Object text = content.get("text");
+        if (text == null) {
+            return new byte[0];
+        }
+        return "base64".equals(content.get("encoding"))
+                ? Base64.getDecoder().decode(String.valueOf(text))
+                : String.valueOf(text).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onResponsePaused(Map<String, Object> event) {
+        String requestId = String.valueOf(event.get("requestId"));
+        try {
+            if (harFile != null && event.get("responseStatusCode") != null) {
+                recorded.add(toEntry(requestId, (Map<String, Object>) event.get("request"), event));
+            }
+        } catch (Exception e) {
+            log.debug("Could not record response: {}", e.getMessage());
+        } finally {
+            continueRequest(requestId);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onRequestPaused(Map<String, Object> event) {
+        String requestId = String.valueOf(event.get("requestId"));
+        Map<String, Object> request = (Map<String, Object>) event.get("request");
+        Map<String, Object> entry = nextEntry(String.valueOf(request.get("method")), String.valueOf(request.get("url")));
+        try {
+            if (entry == null) {
+                unmatched.incrementAndGet();
+                log.debug("Not in HAR recording: {} {}", request.get("method"), request.get("url"));
+                if ("live".equalsIgnoreCase(Configuration.getInstance().getProperty("har.replay.unmatched", "fail"))) {
+                    continueRequest(requestId);
+                } else {
+                    devTools.send(new Command<>("Fetch.failRequest",
+                            Map.of("requestId", requestId, "errorReason", "InternetDisconnected")));
+                }
+                return;
+            }
+            replayed.incrementAndGet();
+            if (!fulfillDirectly) {
+                try {
+                    devTools.send(new Command<>("Fetch.continueRequest",
+                            Map.of("requestId", requestId, "url", HarReplayServer.getInstance().register(entry))));
+                    return;
+                } catch (Exception e) {
+                    // The request is still paused, so it can be fulfilled from the recording instead
+                    fulfillDirectly = true;
+                    log.warn("Browser rejected forwarding to the HAR replay server ({}), fulfilling responses directly",
+                            e.getMessage());
+                }
+            }
+            fulfill(requestId, entry);
+        } catch (Exception e) {
+            log.debug("Could not replay {}: {}", request.get("url"), e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fulfill(String requestId, Map<String, Object> entry) {
+        Map<String, Object> response = (Map<String, Object>) entry.get("response");
+        List<Map<String, Object>> headers = new ArrayList<>();
+        for (Map<String, Object> header : (List<Map<String, Object>>) response.getOrDefault("headers", List.of())) {
+            String name = String.valueOf(header.get("name"));
+            if (!"content-encoding".equalsIgnoreCase(name) && !"content-length".equalsIgnoreCase(name)) {
+                headers.add(Map.of("name", name, "value", String.valueOf(header.get("value"))));
+            }
+        }
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("requestId", requestId);
+        parameters.put("responseCode", ((Number) response.get("status")).intValue());
+        parameters.put("responseHeaders", headers);
+        parameters.put("body", Base64.getEncoder().encodeToString(responseBody(entry)));
+        devTools.send(new Command<>("Fetch.fulfillRequest", parameters));
+    }
+
+    private void continueRequest(String requestId) {
+        try {
+            devTools.send(new Command<>("Fetch.continueRequest", Map.of("requestId", requestId)));
+        } catch (Exception e) {
+            log.debug("Could not continue request {}: {}", requestId, e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> toEntry(String requestId, Map<String, Object> request, Map<String, Object> event) {
+        int status = ((Number) event.get("responseStatusCode")).intValue();
+        List<Map<String, Object>> responseHeaders = new ArrayList<>();
+        String mimeType = "";
+        String redirectUrl = "";
+        for (Map<String, Object> header : (List<Map<String, Object>>) event.getOrDefault("responseHeaders", List.of())) {
+            String name = String.valueOf(header.get("name"));
+            String value = String.valueOf(header.get("value"));
+            responseHeaders.add(nameValue(name, value));
+            if ("content-type".equalsIgnoreCase(name)) {
+                mimeType = value;
+            } else if ("location".equalsIgnoreCase(name)) {
+                redirectUrl = value;
+            }
+        }
+
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("size", 0);
+        content.put("mimeType", mimeType);
+        if (status < 300 || status >= 400) {
+            try {
+                Map<String, Object> body = devTools.send(new Command<Map<String, Object>>("Fetch.getResponseBody",
+                        Map.of("requestId", requestId), input -> input.read(Json.MAP_TYPE)));
+                boolean base64 = Boolean.TRUE.equals(body.get("base64Encoded"));
+                String text = String.valueOf(body.get("body"));
+                content.put("size", base64 ? Base64.getDecoder().decode(text).length : text.getBytes(StandardCharsets.UTF_8).length);
+                content.put("text", text);
+                if (base64) {
+                    content.put("encoding", "base64");
+                }
+            } catch (Exception e) {
+                log.debug("No body recorded for {}: {}", request.get("url"), e.getMessage());
+            }
+        }
+
+        List<Map<String, Object>> requestHeaders = new ArrayList<>();
+        ((Map<String, Object>) request.getOrDefault("headers", Map.of()))
+                .forEach((name, value) -> requestHeaders.add(nameValue(name, String.valueOf(value))));
+        Map<String, Object> harRequest = new LinkedHashMap<>();
+        harRequest.put("method", request.get("method"));
+        harRequest.put("url", request.get("url"));
+        harRequest.put("httpVersion", "HTTP/1.1");
+        harRequest.put("headers", requestHeaders);
+        harRequest.put("queryString", List.of());
+        harRequest.put("cookies", List.of());
+        harRequest.put("headersSize", -1);
+        harRequest.put("bodySize", -1);
+        if (request.get("postData") != null) {
+            harRequest.put("postData", Map.of("mimeType", "", "text", String.valueOf(request.get("postData"))));
+        }
+
+        Map<String, Object> harResponse = new LinkedHashMap<>();
+        harResponse.put("status", status);
+        harResponse.put("statusText", String.valueOf(event.getOrDefault("responseStatusText", "")));
+        harResponse.put("httpVersion", "HTTP/1.1");
+        harResponse.put("headers", responseHeaders);
+        harResponse.put("cookies", List.of());
+        harResponse.put("content", content);
+        harResponse.put("redirectURL", redirectUrl);
+        harResponse.put("headersSize", -1);
+        harResponse.put("bodySize", -1);
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("startedDateTime", Instant.now().toString());
+        entry.put("time", 0);
+        entry.put("request", harRequest);
+        entry.put("response", harResponse);
+        entry.put("cache", Map.of());
+        entry.put("timings", Map.of("send", 0, "wait", 0, "receive", 0));
+        return entry;
+    }
+
+    /**
+     * Next recorded response for the request: exact URL first, then the URL without query string;
+     * repeated requests get the recorded responses in order, the last one once exhausted
+     */
+    private Map<String, Object> nextEntry(String method, String url) {
+        String key = method + " " + url;
+        List<Map<String, Object>> entries = replayEntries.get(key);
+        if (entries == null) {
+            key = method + " ~" + withoutQuery(url);
+            entries = replayEntries.get(key);
+        }
+        if (entries == null) {
+            return null;
+        }
+        int index = replayCursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        return entries.get(Math.min(index, entries.size() - 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadRecording() {
+        Path file = harFile;
+        if (!Files.exists(file)) {
+            log.warn("No HAR recording at {}, every request of this scenario is unmatched", file);
+            return;
+        }
+        try {
+            Map<String, Object> har = json.toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            List<Map<String, Object>> entries = (List<Map<String, Object>>) ((Map<String, Object>) har.get("log")).get("entries");
+            for (Map<String, Object> entry : entries) {
+                Map<String, Object> request = (Map<String, Object>) entry.get("request");
+                String method = String.valueOf(request.get("method"));
+                String url = String.valueOf(request.get("url"));
+                replayEntries.computeIfAbsent(method + " " + url, k -> new ArrayList<>()).add(entry);
+                replayEntries.computeIfAbsent(method + " ~" + withoutQuery(url), k -> new ArrayList<>()).add(entry);
+            }
+            log.info("Loaded {} recorded HTTP exchanges from {}", entries.size(), file);
+        } catch (Exception e) {
+            log.warn("Could not read HAR recording {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Path harDirectory() {
+        Configuration config = Configuration.getInstance();
+        String dir = config.getProperty("har.dir", "");
+        Path root = dir.isBlank() ? config.getStateDirectory().resolve("har") : Path.of(dir);
+        return root.resolve(config.getEnvironmentKey());
+    }
+
+    private static Map<String, Object> nameValue(String name, String value) {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("name", name);
+        header.put("value", value);
+        return header;
+    }
+
+    private static String slug(String name) {
+        String slug = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+        return slug.length() > 80 ? slug.substring(0, 80) : slug;
+    }
+
+    private static String withoutQuery(String url) {
+        int index = url.indexOf('?');
+        return index < 0 ? url : url.substring(0, index);
+    }
+}
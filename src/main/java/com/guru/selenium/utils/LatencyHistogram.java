@@ -0,0 +1,124 @@
+package com.guru.selenium.utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear latency histogram in the spirit of HdrHistogram.
+ * Values are bucketed by their top bits, giving about 6% relative precision over the full long range
+ * with a fixed array of counters, so recording is a couple of atomic increments.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int MAX_SHIFT = 63 - SUB_BUCKET_BITS + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SUB_BUCKETS + MAX_SHIFT * HALF_SUB_BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalValue = new LongAdder();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Record a value
+     * @param value Non-negative value, e.g. latency in microseconds
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet(indexFor(clamped));
+        totalCount.increment();
+        totalValue.add(clamped);
+        maxValue.accumulateAndGet(clamped, Math::max);
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    public double getMean() {
+        long count = totalCount.sum();
+        return count == 0 ? 0 : (double) totalValue.sum() / count;
+    }
+
+    /**
+     * Approximate value at the given percentile (upper bound of the containing bucket, capped at the max)
+     * @param percentile Percentile between 0 and 100
+     * @return value at or above which the given share of recordings fall
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= target) {
+                return Math.min(upperBoundOf(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    /**
+     * Non-zero bucket counts, for persisting the histogram between runs
+     * @return bucket index -> count
+     */
+    public Map<Integer, Long> getBucketCounts() {
+        Map<Integer, Long> buckets = new TreeMap<>();
+        for (int i = 0; i < counts.length(); i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                buckets.put(i, count);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Add bucket counts obtained from {@link #getBucketCounts()}; values are taken as the bucket upper bounds
+     * @param bucketCounts bucket index -> count
+     */
+    public void addBucketCounts(Map<Integer, Long> bucketCounts) {
+        bucketCounts.forEach((index, count) -> {
+            if (index < 0 || index >= counts.length() || count <= 0) {
+                return;
+            }
+            long value = upperBoundOf(index);
+            counts.addAndGet(index, count);
+            totalCount.add(count);
+            totalValue.add(value * count);
+            maxValue.accumulateAndGet(value, Math::max);
+        });
+    }
+
+    static int indexFor(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+        int mantissa = (int) (value >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (mantissa - HALF_SUB_BUCKETS);
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int offset = index - SUB_BUCKETS;
+        int shift = offset / HALF_SUB_BUCKETS + 1;
+        long mantissa = offset % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        if (shift >= 63 - SUB_BUCKET_BITS) {
+            return Long.MAX_VALUE;
+        }
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
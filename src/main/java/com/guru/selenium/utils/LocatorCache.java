@@ -0,0 +1,237 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Memoizes findElements results per locator while the DOM is unchanged.
+ * A MutationObserver in every document reports changes through a DevTools binding, bumping a
+ * DOM epoch in Java, so a cache hit needs no browser round-trip at all. Commands that can change
+ * the page (clicks, typing, navigation, scripts, frame/window switches) also bump the epoch,
+ * which covers the short delay before the binding event arrives.
+ * <p>
+ * The observer binding only reports from the tab the DevTools session is attached to, so lookups in
+ * other tabs or inside frames (e.g. the cross-origin Telegram login) bypass the cache.
+ */
+@Slf4j
+public class LocatorCache {
+    private static final String BINDING = "__guruDomChanged";
+
+    // Reports DOM changes through the binding: immediately, then at most once per 50 ms while mutations continue
+    private static final String OBSERVER_SCRIPT =
+            "(function() {" +
+            "  if (window.__guruDomObserver || typeof window." + BINDING + " !== 'function') { return; }" +
+            "  var timer = null, dirty = false;" +
+            "  function notify() { try { window." + BINDING + "(''); } catch (e) {} }" +
+            "  window.__guruDomObserver = new MutationObserver(function() {" +
+            "    if (timer) { dirty = true; return; }" +
+            "    notify();" +
+            "    timer = setTimeout(function flush() {" +
+            "      if (dirty) { dirty = false; notify(); timer = setTimeout(flush, 50); } else { timer = null; }" +
+            "    }, 50);" +
+            "  });" +
+            "  window.__guruDomObserver.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "  notify();" +
+            "})();";
+
+    // Calls that can change the DOM or the browsing context the cached elements belong to
+    private static final Set<String> MUTATING_CALLS = Set.of(
+            "click", "submit", "sendKeys", "clear", "get", "to", "back", "forward", "refresh",
+            "executeScript", "executeAsyncScript", "perform", "frame", "parentFrame", "defaultContent",
+            "window", "newWindow", "close", "addCookie", "deleteAllCookies", "deleteCookie", "deleteCookieNamed");
+
+    // Caches per browser session, keyed by the driver handed out by DriverFactory
+    private static final Map<WebDriver, LocatorCache> caches = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong staleRetries = new AtomicLong();
+    private static final AtomicLong epochChanges = new AtomicLong();
+    private static final AtomicLong bypassed = new AtomicLong();
+
+    private final AtomicLong epoch = new AtomicLong();
+    private final Map<String, CachedLookup> lookups = new ConcurrentHashMap<>();
+    private WebDriver driver;
+    private boolean active;
+    // Browsing context of the driver: the tab the binding reports from, the current tab (null if unknown)
+    // and how many frames deep the driver has switched
+    private String attachedWindow;
+    private volatile String currentWindow;
+    private volatile int frameDepth;
+
+    /**
+     * Listener to decorate the driver with, so page-changing commands invalidate the cache
+     * @return WebDriverListener bumping the DOM epoch
+     */
+    public WebDriverListener invalidationListener() {
+        return new WebDriverListener() {
+            @Override
+            public void beforeAnyCall(Object target, Method method, Object[] args) {
+                if (MUTATING_CALLS.contains(method.getName())) {
+                    bumpEpoch();
+                }
+            }
+
+            @Override
+            public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+                trackContext(target, method.getName(), args);
+            }
+        };
+    }
+
+    /**
+     * Register the DOM observer binding for the driver's DevTools session
+     * @param driver Driver as handed out by DriverFactory
+     */
+    public void attach(WebDriver driver) {
+        this.driver = driver;
+        if (!Configuration.getInstance().getBooleanProperty("locatorCache.enabled", true)) {
+            return;
+        }
+        DevTools devTools = DevToolsSupport.session(driver);
+        if (devTools == null) {
+            log.info("DevTools not available, locator cache disabled for this driver");
+            return;
+        }
+        try {
+            devTools.send(new Command<>("Runtime.enable", Map.of()));
+            devTools.send(new Command<>("Runtime.addBinding", Map.of("name", BINDING)));
+            devTools.send(new Command<>("Page.addScriptToEvaluateOnNewDocument", Map.of("source", OBSERVER_SCRIPT)));
+            devTools.addListener(new Event<>("Runtime.bindingCalled", input -> input.read(Json.MAP_TYPE)), event -> {
+                if (BINDING.equals(((Map<?, ?>) event).get("name"))) {
+                    bumpEpoch();
+                }
+            });
+            attachedWindow = driver.getWindowHandle();
+            currentWindow = attachedWindow;
+            active = true;
+            caches.put(driver, this);
+            log.debug("Locator cache attached");
+        } catch (Exception e) {
+            log.warn("Could not attach locator cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @param driver Driver as handed out by DriverFactory
+     * @return the driver's cache, or null if caching is not available for it
+     */
+    public static LocatorCache of(WebDriver driver) {
+        return caches.get(driver);
+    }
+
+    /**
+     * Elements matching the locator, reused while the DOM epoch is unchanged
+     * @param locator Locator to resolve
+     * @return matching elements, possibly from the cache
+     */
+    public List<WebElement> findElements(By locator) {
+        if (!active || frameDepth > 0 || !attachedWindow.equals(currentWindow)) {
+            bypassed.incrementAndGet();
+            return driver.findElements(locator);
+        }
+        String key = locator.toString();
+        long currentEpoch = epoch.get();
+        CachedLookup cached = lookups.get(key);
+        if (cached != null && cached.epoch == currentEpoch) {
+            hits.incrementAndGet();
+            return cached.elements;
+        }
+
+        misses.incrementAndGet();
+        List<WebElement> elements = driver.findElements(locator);
+        // Only store the result if nothing changed while it was resolved
+        if (epoch.get() == currentEpoch) {
+            lookups.put(key, new CachedLookup(currentEpoch, elements));
+        }
+        return elements;
+    }
+
+    /**
+     * Apply a function to the elements matching the locator; a stale cached result is re-resolved once
+     * @param locator Locator to resolve
+     * @param action Function of the matching elements
+     * @return the function's result
+     */
+    public <T> T withElements(By locator, Function<List<WebElement>, T> action) {
+        try {
+            return action.apply(findElements(locator));
+        } catch (StaleElementReferenceException e) {
+            staleRetries.incrementAndGet();
+            lookups.remove(locator.toString());
+            bumpEpoch();
+            return action.apply(findElements(locator));
+        }
+    }
+
+    /**
+     * Log cache hit rate across all drivers
+     */
+    public static void logStatistics() {
+        long total = hits.get() + misses.get();
+        log.info("Locator cache: lookups={}, hits={} ({}%), misses={}, stale re-resolves={}, DOM epoch changes={}, "
+                        + "bypassed outside the observed tab={}",
+                total, hits.get(), total == 0 ? 0 : Math.round(100.0 * hits.get() / total), misses.get(),
+                staleRetries.get(), epochChanges.get(), bypassed.get());
+    }
+
+    private void trackContext(Object target, String call, Object[] args) {
+        if (target instanceof WebDriver.TargetLocator) {
+            switch (call) {
+                case "frame" -> frameDepth++;
+                case "parentFrame" -> frameDepth = Math.max(0, frameDepth - 1);
+                case "defaultContent" -> frameDepth = 0;
+                case "window" -> {
+                    currentWindow = String.valueOf(args[0]);
+                    frameDepth = 0;
+                }
+                // The new tab's handle is not known without another call; treat it as unobserved
+                case "newWindow" -> {
+                    currentWindow = null;
+                    frameDepth = 0;
+                }
+                default -> {
+                }
+            }
+        } else if (target instanceof WebDriver && "close".equals(call)) {
+            currentWindow = null;
+        }
+    }
+
+    private void bumpEpoch() {
+        epoch.incrementAndGet();
+        epochChanges.incrementAndGet();
+        if (!lookups.isEmpty()) {
+            lookups.clear();
+        }
+    }
+
+    private static class CachedLookup {
+        private final long epoch;
+        private final List<WebElement> elements;
+
+        CachedLookup(long epoch, List<WebElement> elements) {
+            this.epoch = epoch;
+            this.elements = elements;
+        }
+    }
+}
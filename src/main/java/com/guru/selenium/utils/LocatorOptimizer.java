@@ -0,0 +1,248 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import com.guru.selenium.pages.MenuPage;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Locator analysis tool: finds the XPath locators of the page objects, translates them into CSS and
+ * benchmarks both forms in Chrome against captured page snapshots. Results are written to
+ * {@link Locators#benchmarkFile()}, from where {@link Locators#xpath} picks the faster equivalent form.
+ * <p>
+ * Usage: mvn compile exec:java -Dexec.mainClass=com.guru.selenium.utils.LocatorOptimizer
+ * -Dexec.args="[--capture] [--source src/main/java/com/guru/selenium/pages]"
+ */
+@Slf4j
+public class LocatorOptimizer {
+    // By.xpath("..."), Locators.xpath("...") and @FindBy(xpath = "...")
+    private static final Pattern XPATH_LITERAL = Pattern.compile(
+            "(?:By\\.xpath\\(|Locators\\.xpath\\(|\\bxpath\\s*=)\\s*\"((?:[^\"\\\\]|\\\\.)*)\"");
+
+    private static final String BENCHMARK_SCRIPT =
+            "var doc = new DOMParser().parseFromString(arguments[0], 'text/html');" +
+            "var locators = arguments[1], iterations = arguments[2];" +
+            "var find = " + ByCssText.FIND_FUNCTION + ";" +
+            "function byXPath(l) {" +
+            "  var r = doc.evaluate(l.xpath, doc, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), out = [];" +
+            "  for (var i = 0; i < r.snapshotLength; i++) { out.push(r.snapshotItem(i)); }" +
+            "  return out;" +
+            "}" +
+            "function byCss(l) { return find(doc, l.css, l.filters, l.index); }" +
+            "function time(fn, l) {" +
+            "  fn(l);" +
+            "  var start = performance.now();" +
+            "  for (var i = 0; i < iterations; i++) { fn(l); }" +
+            "  return (performance.now() - start) * 1000 / iterations;" +
+            "}" +
+            "return locators.map(function(l) {" +
+            "  var x = byXPath(l), c = byCss(l);" +
+            "  var same = x.length === c.length && x.every(function(el, i) { return el === c[i]; });" +
+            "  return {xpathMicros: time(byXPath, l), cssMicros: time(byCss, l), matches: x.length, equivalent: same};" +
+            "});";
+
+    private final Configuration config = Configuration.getInstance();
+    private final Path snapshotDir = config.getStateDirectory()
+            .resolve("snapshots")
+            .resolve(config.getEnvironmentKey());
+
+    public static void main(String[] args) throws IOException {
+        boolean capture = false;
+        Path sourceRoot = Paths.get("src/main/java/com/guru/selenium/pages");
+        for (int i = 0; i < args.length; i++) {
+            if ("--capture".equals(args[i])) {
+                capture = true;
+            } else if ("--source".equals(args[i]) && i + 1 < args.length) {
+                sourceRoot = Paths.get(args[++i]);
+            }
+        }
+
+        LocatorOptimizer optimizer = new LocatorOptimizer();
+        Map<String, List<String>> xpaths = optimizer.scan(sourceRoot);
+        Map<String, XPathToCss.Translation> translations = optimizer.report(xpaths);
+        try {
+            if (capture) {
+                optimizer.captureSnapshots();
+            }
+            optimizer.benchmark(translations);
+        } finally {
+            DriverFactory.getInstance().quitAllDrivers();
+        }
+    }
+
+    /**
+     * Find XPath literals in the Java sources
+     * @param sourceRoot Source directory to scan
+     * @return XPath -> places it is used (file:line)
+     */
+    public Map<String, List<String>> scan(Path sourceRoot) throws IOException {
+        Map<String, List<String>> xpaths = new TreeMap<>();
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(sourceRoot)) {
+            files = walk.filter(file -> file.toString().endsWith(".java")).sorted().collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            for (int i = 0; i < lines.size(); i++) {
+                if (lines.get(i).trim().startsWith("//")) {
+                    continue;
+                }
+                Matcher matcher = XPATH_LITERAL.matcher(lines.get(i));
+                while (matcher.find()) {
+                    xpaths.computeIfAbsent(unescape(matcher.group(1)), xpath -> new ArrayList<>())
+                            .add(file.getFileName() + ":" + (i + 1));
+                }
+            }
+        }
+        log.info("Found {} distinct XPath locators under {}", xpaths.size(), sourceRoot);
+        return xpaths;
+    }
+
+    /**
+     * Translate every XPath and log the result
+     * @param xpaths XPath -> places it is used
+     * @return XPath -> translation
+     */
+    public Map<String, XPathToCss.Translation> report(Map<String, List<String>> xpaths) {
+        Map<String, XPathToCss.Translation> translations = new LinkedHashMap<>();
+        xpaths.forEach((xpath, usages) -> {
+            XPathToCss.Translation translation = XPathToCss.translate(xpath);
+            translations.put(xpath, translation);
+            log.info("{}{}    {}{}    -> {}", usages, System.lineSeparator(), xpath, System.lineSeparator(), translation);
+        });
+        long translatable = translations.values().stream().filter(XPathToCss.Translation::isTranslatable).count();
+        log.info("{} of {} XPath locators have a CSS equivalent", translatable, translations.size());
+        return translations;
+    }
+
+    /**
+     * Load every side menu page and save its DOM as a snapshot for the benchmark
+     */
+    public void captureSnapshots() throws IOException {
+        Files.createDirectories(snapshotDir);
+        MenuPage menuPage = new MenuPage();
+        WebDriver driver = DriverFactory.getInstance().getDriver();
+        for (String page : menuPage.getPageNames()) {
+            try {
+                menuPage.loadPage(page);
+                String html = (String) ((JavascriptExecutor) driver)
+                        .executeScript("return document.documentElement.outerHTML;");
+                Files.writeString(snapshotDir.resolve(page + ".html"), html, StandardCharsets.UTF_8);
+                log.info("Captured {} page snapshot ({} KB)", page, html.length() / 1024);
+            } catch (RuntimeException e) {
+                log.warn("Could not capture {} page snapshot: {}", page, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Time the XPath and CSS form of every translatable locator on each snapshot and save the preferred forms
+     * @param translations XPath -> translation
+     */
+    @SuppressWarnings("unchecked")
+    public void benchmark(Map<String, XPathToCss.Translation> translations) throws IOException {
+        List<Path> snapshots;
+        if (!Files.isDirectory(snapshotDir)) {
+            log.warn("No page snapshots in {}, run with --capture first", snapshotDir);
+            return;
+        }
+        try (Stream<Path> list = Files.list(snapshotDir)) {
+            snapshots = list.filter(file -> file.toString().endsWith(".html")).sorted().collect(Collectors.toList());
+        }
+        List<Map<String, Object>> locators = new ArrayList<>();
+        translations.values().stream().filter(XPathToCss.Translation::isTranslatable).forEach(translation -> {
+            Map<String, Object> locator = new LinkedHashMap<>();
+            locator.put("xpath", translation.getXpath());
+            locator.put("css", translation.getLocator().getCss());
+            locator.put("filters", translation.getLocator().scriptFilters());
+            locator.put("index", translation.getLocator().getIndex());
+            locators.add(locator);
+        });
+        if (snapshots.isEmpty() || locators.isEmpty()) {
+            log.warn("Nothing to benchmark: {} snapshots, {} translatable locators", snapshots.size(), locators.size());
+            return;
+        }
+
+        int iterations = config.getIntProperty("locator.benchmark.iterations", 200);
+        JavascriptExecutor js = (JavascriptExecutor) DriverFactory.getInstance().getDriver();
+        Map<String, LocatorTiming> timings = new LinkedHashMap<>();
+        for (Path snapshot : snapshots) {
+            String html = Files.readString(snapshot, StandardCharsets.UTF_8);
+            List<Map<String, Object>> results = (List<Map<String, Object>>) js.executeScript(BENCHMARK_SCRIPT,
+                    html, locators, iterations);
+            for (int i = 0; i < locators.size(); i++) {
+                timings.computeIfAbsent((String) locators.get(i).get("xpath"), xpath -> new LocatorTiming())
+                        .add(results.get(i));
+            }
+        }
+
+        Map<String, Object> stored = new TreeMap<>();
+        timings.forEach((xpath, timing) -> {
+            // A locator that matches nothing on any snapshot says nothing about equivalence, so it keeps its XPath
+            boolean evidence = timing.matchedSnapshots > 0;
+            String preferred = evidence && timing.equivalent && timing.cssMicros <= timing.xpathMicros ? "css" : "xpath";
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("css", translations.get(xpath).getLocator().toString());
+            entry.put("preferred", preferred);
+            entry.put("xpathMicros", Math.round(timing.xpathMicros * 10) / 10.0);
+            entry.put("cssMicros", Math.round(timing.cssMicros * 10) / 10.0);
+            entry.put("equivalent", timing.equivalent);
+            entry.put("matchedSnapshots", timing.matchedSnapshots);
+            entry.put("snapshots", snapshots.size());
+            stored.put(xpath, entry);
+            log.info("{}: xpath {} us, css {} us over {} snapshots ({} with matches){} -> {}", xpath,
+                    entry.get("xpathMicros"), entry.get("cssMicros"), snapshots.size(), timing.matchedSnapshots,
+                    !evidence ? ", no evidence" : timing.equivalent ? "" : ", NOT equivalent", preferred);
+        });
+
+        Path file = Locators.benchmarkFile();
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, new Json().toJson(stored), StandardCharsets.UTF_8);
+        log.info("Saved locator benchmark results to {}", file);
+    }
+
+    private static String unescape(String javaLiteral) {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < javaLiteral.length(); i++) {
+            char c = javaLiteral.charAt(i);
+            if (c == '\\' && i + 1 < javaLiteral.length()) {
+                c = javaLiteral.charAt(++i);
+            }
+            value.append(c);
+        }
+        return value.toString();
+    }
+
+    private static class LocatorTiming {
+        private double xpathMicros;
+        private double cssMicros;
+        private boolean equivalent = true;
+        private int matchedSnapshots;
+
+        void add(Map<String, Object> result) {
+            xpathMicros += ((Number) result.get("xpathMicros")).doubleValue();
+            cssMicros += ((Number) result.get("cssMicros")).doubleValue();
+            equivalent &= Boolean.TRUE.equals(result.get("equivalent"));
+            if (((Number) result.get("matches")).intValue() > 0) {
+                matchedSnapshots++;
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.json.Json;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers, per environment, which strategy of each {@link MultiStrategyLocator} found the element,
+ * so the winner is tried first next time, and reports per-strategy hit rates for the run.
+ */
+@Slf4j
+public class LocatorStrategyHistory {
+    private static LocatorStrategyHistory instance;
+
+    private final Json json = new Json();
+    private final Path historyFile;
+    private final Map<String, LocatorHistory> histories = new ConcurrentHashMap<>();
+
+    private LocatorStrategyHistory() {
+        Configuration config = Configuration.getInstance();
+        this.historyFile = config.getStateDirectory()
+                .resolve("locators")
+                .resolve(config.getEnvironmentKey() + "-strategies.json");
+        load();
+    }
+
+    public static synchronized LocatorStrategyHistory getInstance() {
+        if (instance == null) {
+            instance = new LocatorStrategyHistory();
+        }
+        return instance;
+    }
+
+    /**
+     * Strategies in the order to try them: last winner first, then by past wins, then declaration order
+     * @param locator Locator name
+     * @param strategies Strategies in their declared order
+     * @return reordered strategies
+     */
+    public <T extends MultiStrategyLocator.Strategy> List<T> order(String locator, List<T> strategies) {
+        LocatorHistory history = histories.get(locator);
+        List<T> ordered = new ArrayList<>(strategies);
+        if (history == null) {
+            return ordered;
+        }
+        synchronized (history) {
+            ordered.sort(Comparator
+                    .comparing((T strategy) -> !strategy.getName().equals(history.lastWinner))
+                    .thenComparing(strategy -> -history.wins.getOrDefault(strategy.getName(), 0L)));
+        }
+        return ordered;
+    }
+
+    /**
+     * @param locator Locator name
+     * @param strategy Name of the strategy that found the element
+     * @param position Position the strategy was tried at, 0 for first
+     */
+    public void recordWin(String locator, String strategy, int position) {
+        LocatorHistory history = histories.computeIfAbsent(locator, name -> new LocatorHistory());
+        synchronized (history) {
+            history.lastWinner = strategy;
+            history.wins.merge(strategy, 1L, Long::sum);
+            history.runWins.merge(strategy, 1L, Long::sum);
+            history.runLookups++;
+            if (position == 0) {
+                history.runFirstChoiceWins++;
+            }
+        }
+    }
+
+    /**
+     * @param locator Locator name whose strategies all failed
+     */
+    public void recordMiss(String locator) {
+        LocatorHistory history = histories.computeIfAbsent(locator, name -> new LocatorHistory());
+        synchronized (history) {
+            history.runLookups++;
+            history.runMisses++;
+        }
+    }
+
+    /**
+     * Log this run's per-strategy hit rates and persist the history
+     */
+    public synchronized void finishRun() {
+        histories.forEach((locator, history) -> {
+            synchronized (history) {
+                if (history.runLookups == 0) {
+                    return;
+                }
+                StringBuilder rates = new StringBuilder();
+                history.runWins.forEach((strategy, wins) -> rates.append(", ").append(strategy).append(" ")
+                        .append(Math.round(100.0 * wins / history.runLookups)).append("%"));
+                log.info("Locator strategies of {}: lookups={}, first choice hit rate {}%{}, misses={}", locator,
+                        history.runLookups, Math.round(100.0 * history.runFirstChoiceWins / history.runLookups),
+                        rates, history.runMisses);
+            }
+        });
+        save();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load() {
+        if (!Files.exists(historyFile)) {
+            return;
+        }
+        try {
+            Map<String, Object> stored = json.toType(Files.readString(historyFile, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            stored.forEach((locator, value) -> {
+                Map<String, Object> entry = (Map<String, Object>) value;
+                LocatorHistory history = new LocatorHistory();
+                history.lastWinner = (String) entry.get("lastWinner");
+                ((Map<String, Object>) entry.getOrDefault("wins", Map.of())).forEach((strategy, wins) ->
+                        history.wins.put(strategy, ((Number) wins).longValue()));
+                histories.put(locator, history);
+            });
+            log.info("Loaded locator strategy history for {} locators from {}", histories.size(), historyFile);
+        } catch (Exception e) {
+            log.warn("Could not read locator strategy history: {}", e.getMessage());
+        }
+    }
+
+    private void save() {
+        if (histories.isEmpty()) {
+            return;
+        }
+        Map<String, Object> stored = new TreeMap<>();
+        histories.forEach((locator, history) -> {
+            synchronized (history) {
+                Map<String, Object> entry = new TreeMap<>();
+                entry.put("lastWinner", history.lastWinner);
+                entry.put("wins", new TreeMap<>(history.wins));
+                stored.put(locator, entry);
+            }
+        });
+        try {
+            Files.createDirectories(historyFile.getParent());
+            Files.writeString(historyFile, json.toJson(stored), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            log.warn("Could not save locator strategy history: {}", e.getMessage());
+        }
+    }
+
+    private static class LocatorHistory {
+        private String lastWinner;
+        private final Map<String, Long> wins = new TreeMap<>();
+        private final Map<String, Long> runWins = new TreeMap<>();
+        private long runLookups;
+        private long runFirstChoiceWins;
+        private long runMisses;
+    }
+}
@@ -0,0 +1,72 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+import org.openqa.selenium.json.Json;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Drop-in replacement for By.xpath that returns the faster equivalent CSS form where one exists.
+ * An XPath is replaced when {@link XPathToCss} can translate it and the last {@link LocatorOptimizer}
+ * benchmark found the CSS form equivalent and faster on the captured page snapshots. XPaths without
+ * benchmark results use CSS when locator.optimize.unbenchmarked=true.
+ */
+@Slf4j
+public final class Locators {
+    private static Map<String, Object> benchmarks;
+
+    private Locators() {
+    }
+
+    /**
+     * @param xpath XPath expression
+     * @return equivalent CSS locator if it is preferred, otherwise By.xpath
+     */
+    public static By xpath(String xpath) {
+        Configuration config = Configuration.getInstance();
+        if (!config.getBooleanProperty("locator.optimize.enabled", true)) {
+            return By.xpath(xpath);
+        }
+        XPathToCss.Translation translation = XPathToCss.translate(xpath);
+        if (!translation.isTranslatable()) {
+            log.debug("Keeping XPath {}: {}", xpath, translation.getReason());
+            return By.xpath(xpath);
+        }
+
+        Object result = benchmarks().get(xpath);
+        boolean preferCss = result instanceof Map
+                ? "css".equals(((Map<?, ?>) result).get("preferred"))
+                : config.getBooleanProperty("locator.optimize.unbenchmarked", false);
+        return preferCss ? translation.getLocator() : By.xpath(xpath);
+    }
+
+    /**
+     * @return file with the benchmark results for the current environment
+     */
+    public static Path benchmarkFile() {
+        Configuration config = Configuration.getInstance();
+        return config.getStateDirectory().resolve("locators").resolve(config.getEnvironmentKey() + ".json");
+    }
+
+    private static synchronized Map<String, Object> benchmarks() {
+        if (benchmarks == null) {
+            benchmarks = Collections.emptyMap();
+            Path file = benchmarkFile();
+            if (Files.exists(file)) {
+                try {
+                    benchmarks = new Json().toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+                    log.info("Loaded locator benchmark results for {} XPaths from {}", benchmarks.size(), file);
+                } catch (Exception e) {
+                    log.warn("Could not read locator benchmark results: {}", e.getMessage());
+                }
+            }
+        }
+        return benchmarks;
+    }
+}
@@ -0,0 +1,146 @@
+package com.guru.selenium.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Element with several alternative locating strategies, e.g. for widgets whose markup varies between
+ * environments. All strategies are tried in a single script per poll, in the order learned by
+ * {@link LocatorStrategyHistory} (last winner first), so a missing strategy costs no separate wait.
+ * The script returns the first visible and enabled match.
+ */
+@Slf4j
+public class MultiStrategyLocator {
+    private static final String QUERY_SCRIPT =
+            "var strategies = arguments[0];" +
+            "function usable(el) {" +
+            "  if (el.disabled || !el.getClientRects().length) { return false; }" +
+            "  var style = window.getComputedStyle(el);" +
+            "  return style.visibility !== 'hidden' && style.display !== 'none';" +
+            "}" +
+            "for (var i = 0; i < strategies.length; i++) {" +
+            "  var s = strategies[i], nodes = document.querySelectorAll(s.css);" +
+            "  for (var j = 0; j < nodes.length; j++) {" +
+            "    var el = nodes[j];" +
+            "    if (!usable(el)) { continue; }" +
+            "    if (s.texts.length) {" +
+            "      var text = (el.innerText || '').toLowerCase();" +
+            "      if (!s.texts.some(function(t) { return text.indexOf(t) >= 0; })) { continue; }" +
+            "    }" +
+            "    return [i, el];" +
+            "  }" +
+            "}" +
+            "return null;";
+
+    private final String name;
+    private final List<Strategy> strategies;
+
+    /**
+     * @param name Stable name under which the winning strategy is remembered
+     * @param strategies Strategies in their default order
+     */
+    public MultiStrategyLocator(String name, Strategy... strategies) {
+        this.name = name;
+        this.strategies = List.of(strategies);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Wait until any strategy finds a visible, enabled element in the current frame
+     * @param driver Driver to query
+     * @param timeout Upper bound for the wait
+     * @return the element found by the first strategy (in learned order) that matched
+     * @throws TimeoutException if no strategy matched in time
+     */
+    public WebElement find(WebDriver driver, Duration timeout) {
+        LocatorStrategyHistory history = LocatorStrategyHistory.getInstance();
+        List<Strategy> ordered = history.order(name, strategies);
+        List<Map<String, Object>> arguments = new ArrayList<>();
+        for (Strategy strategy : ordered) {
+            arguments.add(strategy.toScriptArgument());
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            List<?> match = new BudgetedWait(driver, timeout, "strategies of " + name)
+                    .until(d -> (List<?>) ((JavascriptExecutor) d).executeScript(QUERY_SCRIPT, arguments));
+            int position = ((Number) match.get(0)).intValue();
+            Strategy winner = ordered.get(position);
+            history.recordWin(name, winner.getName(), position);
+            log.info("Located {} with strategy {} (position {}) in {} ms", name, winner.getName(), position + 1,
+                    System.currentTimeMillis() - start);
+            return (WebElement) match.get(1);
+        } catch (TimeoutException e) {
+            history.recordMiss(name);
+            log.warn("No strategy located {} within {} ms: {}", name, timeout.toMillis(), ordered);
+            throw e;
+        }
+    }
+
+    /**
+     * One way of locating the element: a CSS selector, optionally restricted to elements whose
+     * visible text contains one of the given words (case-insensitive)
+     */
+    public static class Strategy {
+        private final String name;
+        private final String css;
+        private final List<String> texts;
+
+        private Strategy(String name, String css, List<String> texts) {
+            this.name = name;
+            this.css = css;
+            this.texts = texts;
+        }
+
+        /**
+         * @param name Strategy name used in history and statistics
+         * @param css Selector of the element
+         * @return strategy matching the selector
+         */
+        public static Strategy css(String name, String css) {
+            return new Strategy(name, css, List.of());
+        }
+
+        /**
+         * @param name Strategy name used in history and statistics
+         * @param css Selector of the candidate elements
+         * @param words Words of which the visible text must contain at least one
+         * @return strategy matching candidates by text
+         */
+        public static Strategy textIn(String name, String css, String... words) {
+            List<String> texts = new ArrayList<>();
+            Arrays.stream(words).forEach(word -> texts.add(word.toLowerCase(Locale.ROOT)));
+            return new Strategy(name, css, texts);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        Map<String, Object> toScriptArgument() {
+            Map<String, Object> argument = new LinkedHashMap<>();
+            argument.put("css", css);
+            argument.put("texts", texts);
+            return argument;
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + css + (texts.isEmpty() ? "" : " with text " + texts) + ")";
+        }
+    }
+}
@@ -3,12 +3,14 @@ package com.guru.selenium.utils;
 import com.guru.selenium.pages.BasePage;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
-import org.openqa.selenium.WebElement;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
-import java.util.List;
-
-import static com.guru.selenium.utils.VisualComparisonUtil.waitForPageLoad;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Navigator class for menu-based navigation through the application
@@ -16,61 +18,94 @@ import static com.guru.selenium.utils.VisualComparisonUtil.waitForPageLoad;
 @Slf4j
 public class Navigator extends BasePage {
 
+    private static final String MENU_LINK_SELECTOR = ".MainMenu_link__ICVs0";
+    private static final String MENU_CAPTION_SELECTOR = ".MainMenu_caption__5Xzp4";
+
+    // Returns {routes: caption -> href, epoch} and installs the menu change observer
+    private static final String BUILD_INDEX_SCRIPT =
+            "var linkSelector = arguments[0], captionSelector = arguments[1], routes = {};" +
+            "document.querySelectorAll(linkSelector).forEach(function(link) {" +
+            "  var caption = link.querySelector(captionSelector);" +
+            "  if (caption && link.getAttribute('href')) {" +
+            "    routes[caption.innerText.trim().toLowerCase()] = link.getAttribute('href');" +
+            "  }" +
+            "});" +
+            "var menu = document.getElementById('main-menu');" +
+            "if (menu && !window.__guruMenuIndex) {" +
+            "  window.__guruMenuIndex = {epoch: 0};" +
+            "  new MutationObserver(function() { window.__guruMenuIndex.epoch++; })" +
+            "    .observe(menu, {childList: true, subtree: true, attributes: true, attributeFilter: ['href']});" +
+            "}" +
+            "return {routes: routes, epoch: window.__guruMenuIndex ? window.__guruMenuIndex.epoch : -1};";
+
+    // Clicks the indexed link if the menu is unchanged; returns 'clicked' or the reason the index is stale
+    private static final String CLICK_ROUTE_SCRIPT =
+            "var linkSelector = arguments[0], captionSelector = arguments[1];" +
+            "var href = arguments[2], caption = arguments[3], epoch = arguments[4];" +
+            "var index = window.__guruMenuIndex;" +
+            "if (index && epoch >= 0 && index.epoch !== epoch) { return 'menu-changed'; }" +
+            "var link = document.querySelector(linkSelector + '[href=\"' + CSS.escape(href) + '\"]');" +
+            "if (!link) { return 'link-missing'; }" +
+            "var label = link.querySelector(captionSelector);" +
+            "if (!label || label.innerText.trim().toLowerCase() !== caption) { return 'caption-changed'; }" +
+            "link.click();" +
+            "return 'clicked';";
+
+    // Route indexes per browser session, shared by all Navigator instances using that driver
+    private static final Map<WebDriver, RouteIndex> routeIndexes = Collections.synchronizedMap(new WeakHashMap<>());
+
     // Main menu locators
     private final By mainMenuContainer = By.id("main-menu");
-    private final By menuItems = By.cssSelector(".MainMenu_item__2Bc14");
-    private final By menuLinks = By.cssSelector(".MainMenu_link__ICVs0");
-    private final By menuCaptions = By.cssSelector(".MainMenu_caption__5Xzp4");
 
     /**
      * Navigate to the home page
      */
     public void navigateToHome() {
         log.info("Navigating to home page" + baseUrl);
+        long start = System.currentTimeMillis();
         driver.get(baseUrl);
-        waitForPageLoad(driver);
+        waitForPageToLoad();
         waitForMainMenuToLoad();
+        PagePerformanceCollector.collect(driver, System.currentTimeMillis() - start);
     }
 
     /**
-     * Navigate to a specific page using the main menu
+     * Navigate to a specific page using the main menu.
+     * Uses the session's caption to href route index, so a navigation is a single script call
+     * unless the menu changed since the index was built.
      *
      * @param menuItemName The name of the menu item to click (e.g. "Actions", "Tokens")
      * @return true if navigation was successful
      */
     public boolean navigateViaMenu(String menuItemName) {
         log.info("Navigating to {} via main menu", menuItemName);
+        String caption = menuItemName.trim().toLowerCase();
 
         try {
-            // Make sure we're on a page with the main menu
-            waitForMainMenuToLoad();
-
-            // Find all menu items
-            List<WebElement> items = driver.findElements(menuLinks);
-            log.info("Found {} menu items", items.size());
-
-            // Click on the menu item with the matching caption
-            for (WebElement item : items) {
-                String caption = item.findElement(menuCaptions).getText();
-                log.debug("Menu item caption: {}", caption);
-
-                if (caption.equalsIgnoreCase(menuItemName)) {
-                    log.info("Found menu item: {}", menuItemName);
-
-                    // Wait for it to be clickable and click
-                    wait.until(ExpectedConditions.elementToBeClickable(item));
-                    item.click();
+            RouteIndex index = routeIndexes.get(driver);
+            if (index == null || !index.routes.containsKey(caption)) {
+                index = buildRouteIndex();
+            }
 
-                    // Wait for navigation to complete
-                    waitForPageLoad(driver);
+            long start = System.currentTimeMillis();
+            String outcome = clickIndexedRoute(index, caption);
+            if (!"clicked".equals(outcome)) {
+                log.info("Menu route index is stale ({}), rebuilding", outcome);
+                index = buildRouteIndex();
+                outcome = clickIndexedRoute(index, caption);
+            }
 
-                    log.info("Successfully navigated to {}", menuItemName);
-                    return true;
-                }
+            if (!"clicked".equals(outcome)) {
+                log.warn("Menu item not found: {}", menuItemName);
+                return false;
             }
 
-            log.warn("Menu item not found: {}", menuItemName);
-            return false;
+            // Wait for navigation to complete
+            waitForPageToLoad();
+            PagePerformanceCollector.collect(driver, System.currentTimeMillis() - start);
+
+            log.info("Successfully navigated to {}", menuItemName);
+            return true;
 
         } catch (Exception e) {
             log.error("Error navigating via menu: {}", e.getMessage());
@@ -78,6 +113,35 @@ public class Navigator extends BasePage {
         }
     }
 
+    /**
+     * Build the caption to href index for the current session with one script call.
+     * A MutationObserver on the menu bumps an epoch whenever links are added, removed or re-pointed.
+     */
+    @SuppressWarnings("unchecked")
+    private RouteIndex buildRouteIndex() {
+        // Make sure we're on a page with the main menu
+        waitForMainMenuToLoad();
+
+        Map<String, Object> raw = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(
+                BUILD_INDEX_SCRIPT, MENU_LINK_SELECTOR, MENU_CAPTION_SELECTOR);
+        Map<String, String> routes = new HashMap<>();
+        ((Map<String, Object>) raw.get("routes")).forEach((caption, href) -> routes.put(caption, (String) href));
+
+        RouteIndex index = new RouteIndex(routes, ((Number) raw.get("epoch")).longValue());
+        routeIndexes.put(driver, index);
+        log.info("Built menu route index with {} routes: {}", routes.size(), routes);
+        return index;
+    }
+
+    private String clickIndexedRoute(RouteIndex index, String caption) {
+        String href = index.routes.get(caption);
+        if (href == null) {
+            return "missing";
+        }
+        return String.valueOf(((JavascriptExecutor) driver).executeScript(CLICK_ROUTE_SCRIPT,
+                MENU_LINK_SELECTOR, MENU_CAPTION_SELECTOR, href, caption, index.epoch));
+    }
+
     /**
      * Navigate directly to a page by URL path
      *
@@ -86,8 +150,10 @@ public class Navigator extends BasePage {
     public void navigateToPath(String path) {
         String url = baseUrl + path;
         log.info("Navigating directly to URL: {}", url);
+        long start = System.currentTimeMillis();
         driver.get(url);
-        waitForPageLoad(driver);
+        waitForPageToLoad();
+        PagePerformanceCollector.collect(driver, System.currentTimeMillis() - start);
     }
 
     /**
@@ -103,4 +169,13 @@ public class Navigator extends BasePage {
         }
     }
 
-}
\ No newline at end of file
+    private static class RouteIndex {
+        private final Map<String, String> routes;
+        private final long epoch;
+
+        RouteIndex(Map<String, String> routes, long epoch) {
+            this.routes = routes;
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Tracks in-flight requests of a Chrome session through DevTools Network events.
+ * The page counts as network-idle once no fetch/XHR request has started or been pending for the idle window,
+ * which is decided in Java from the event stream without any WebDriver round-trip.
+ */
+@Slf4j
+public class NetworkIdleMonitor {
+    private static final Set<String> TRACKED_TYPES = Set.of("Fetch", "XHR");
+    private static final long POLL_INTERVAL_MILLIS = 25;
+
+    // Monitors per browser session, keyed by the driver handed out by DriverFactory
+    private static final Map<WebDriver, NetworkIdleMonitor> monitors = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Pattern ignoredUrls;
+    private final Map<String, String> pending = new ConcurrentHashMap<>();
+    private final AtomicLong lastActivity = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong trackedRequests = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    private NetworkIdleMonitor(Pattern ignoredUrls) {
+        this.ignoredUrls = ignoredUrls;
+    }
+
+    /**
+     * Subscribe to Network events of the driver's DevTools session
+     * @param driver Driver as handed out by DriverFactory
+     * @return the monitor, or null if the browser has no DevTools support
+     */
+    @SuppressWarnings("unchecked")
+    public static NetworkIdleMonitor attach(WebDriver driver) {
+        DevTools devTools = DevToolsSupport.session(driver);
+        if (devTools == null) {
+            log.info("DevTools not available, network idle readiness disabled for this driver");
+            return null;
+        }
+
+        String ignore = Configuration.getInstance().getProperty("readiness.network.ignorePattern", "");
+        NetworkIdleMonitor monitor = new NetworkIdleMonitor(ignore.isBlank() ? null : Pattern.compile(ignore));
+        try {
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            devTools.addListener(new Event<>("Network.requestWillBeSent", input -> (Map<String, Object>) input.read(Json.MAP_TYPE)),
+                    monitor::onRequestWillBeSent);
+            devTools.addListener(new Event<>("Network.loadingFinished", input -> (Map<String, Object>) input.read(Json.MAP_TYPE)),
+                    monitor::onLoadingFinished);
+            devTools.addListener(new Event<>("Network.loadingFailed", input -> (Map<String, Object>) input.read(Json.MAP_TYPE)),
+                    monitor::onLoadingFailed);
+        } catch (Exception e) {
+            log.warn("Could not subscribe to DevTools Network events: {}", e.getMessage());
+            return null;
+        }
+        monitors.put(driver, monitor);
+        log.debug("Network idle monitor attached");
+        return monitor;
+    }
+
+    /**
+     * @param driver Driver as handed out by DriverFactory
+     * @return the attached monitor, or null if none was attached
+     */
+    public static NetworkIdleMonitor of(WebDriver driver) {
+        return monitors.get(driver);
+    }
+
+    /**
+     * Wait until no fetch/XHR request has been in flight for the idle window, then start a new activity window
+     * @param timeoutMillis Upper bound for the wait
+     * @param idleWindowMillis How long the network must stay idle
+     * @return requests and bytes seen since the previous wait (i.e. for this navigation)
+     */
+    public Activity awaitIdle(long timeoutMillis, long idleWindowMillis) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMillis;
+        boolean timedOut = false;
+
+        while (true) {
+            long now = System.currentTimeMillis();
+            // The window starts no earlier than the wait, so requests triggered by a just-sent click are not missed
+            if (pending.isEmpty() && now - Math.max(lastActivity.get(), start) >= idleWindowMillis) {
+                break;
+            }
+            if (now >= deadline) {
+                timedOut = true;
+                break;
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                timedOut = true;
+                break;
+            }
+        }
+
+        Activity activity = new Activity(requests.getAndSet(0), trackedRequests.getAndSet(0),
+                failedRequests.getAndSet(0), bytes.getAndSet(0), pending.size(),
+                System.currentTimeMillis() - start, timedOut);
+        if (timedOut) {
+            log.warn("Network not idle before timeout, still pending: {}", pending.values());
+        }
+        return activity;
+    }
+
+    /**
+     * Forget in-flight requests and counters, e.g. when a pooled driver is reset
+     */
+    public void reset() {
+        pending.clear();
+        requests.set(0);
+        trackedRequests.set(0);
+        failedRequests.set(0);
+        bytes.set(0);
+        lastActivity.set(System.currentTimeMillis());
+    }
+
+    private void onRequestWillBeSent(Map<String, Object> event) {
+        requests.incrementAndGet();
+
+        String type = String.valueOf(event.get("type"));
+        Object request = event.get("request");
+        String url = request instanceof Map ? String.valueOf(((Map<?, ?>) request).get("url")) : "";
+        if (TRACKED_TYPES.contains(type) && (ignoredUrls == null || !ignoredUrls.matcher(url).find())) {
+            // Redirects reuse the request id, so the entry simply stays pending
+            if (pending.put(String.valueOf(event.get("requestId")), url) == null) {
+                trackedRequests.incrementAndGet();
+            }
+            lastActivity.set(System.currentTimeMillis());
+        }
+    }
+
+    private void onLoadingFinished(Map<String, Object> event) {
+        Object length = event.get("encodedDataLength");
+        if (length instanceof Number) {
+            bytes.addAndGet(((Number) length).longValue());
+        }
+        finish(event);
+    }
+
+    private void onLoadingFailed(Map<String, Object> event) {
+        failedRequests.incrementAndGet();
+        finish(event);
+    }
+
+    private void finish(Map<String, Object> event) {
+        if (pending.remove(String.valueOf(event.get("requestId"))) != null) {
+            lastActivity.set(System.currentTimeMillis());
+        }
+    }
+
+    @Getter
+    public static class Activity {
+        private final long requests;
+        private final long fetchXhrRequests;
+        private final long failedRequests;
+        private final long bytes;
+        private final int stillPending;
+        private final long waitMillis;
+        private final boolean timedOut;
+
+        Activity(long requests, long fetchXhrRequests, long failedRequests, long bytes, int stillPending,
+                 long waitMillis, boolean timedOut) {
+            this.requests = requests;
+            this.fetchXhrRequests = fetchXhrRequests;
+            this.failedRequests = failedRequests;
+            this.bytes = bytes;
+            this.stillPending = stillPending;
+            this.waitMillis = waitMillis;
+            this.timedOut = timedOut;
+        }
+
+        @Override
+        public String toString() {
+            return "requests=" + requests +
+                    " (fetch/xhr " + fetchXhrRequests + ", failed " + failedRequests + ")" +
+                    ", bytes=" + bytes +
+                    ", idleWait=" + waitMillis + " ms" +
+                    (timedOut ? ", timedOut with " + stillPending + " pending" : "");
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Captures Navigation Timing, Paint Timing, LCP, CLS and long tasks for visited pages
+ * and appends them to a per-page time series so runs can be compared
+ */
+@Slf4j
+public final class PagePerformanceCollector {
+
+    // Buffers LCP, layout shifts and long tasks from document start; registered on new documents via CDP
+    private static final String OBSERVER_SCRIPT =
+            "(function() {" +
+            "  if (window.__guruPerf) { return; }" +
+            "  var perf = window.__guruPerf = {lcp: null, layoutShifts: [], longTasks: [], lastCollect: 0," +
+            "    early: document.readyState === 'loading'};" +
+            "  function observe(type, callback) {" +
+            "    try {" +
+            "      new PerformanceObserver(function(list) { list.getEntries().forEach(callback); })" +
+            "        .observe({type: type, buffered: true});" +
+            "    } catch (e) {}" +
+            "  }" +
+            "  observe('largest-contentful-paint', function(entry) { perf.lcp = entry.startTime; });" +
+            "  observe('layout-shift', function(entry) {" +
+            "    if (!entry.hadRecentInput) { perf.layoutShifts.push([entry.startTime, entry.value]); }" +
+            "  });" +
+            "  observe('longtask', function(entry) { perf.longTasks.push([entry.startTime, entry.duration]); });" +
+            "})();";
+
+    // Installs the observers if needed, lets buffered entries arrive, then reports metrics since the last collect
+    private static final String COLLECT_SCRIPT =
+            "var done = arguments[arguments.length - 1];" +
+            OBSERVER_SCRIPT +
+            "setTimeout(function() {" +
+            "  var perf = window.__guruPerf, since = perf.lastCollect, now = performance.now();" +
+            "  var metrics = {};" +
+            "  var cls = 0, longTasks = 0, longTaskTime = 0, blockingTime = 0;" +
+            "  perf.layoutShifts.forEach(function(shift) { if (shift[0] >= since) { cls += shift[1]; } });" +
+            "  perf.longTasks.forEach(function(task) {" +
+            "    if (task[0] >= since) { longTasks++; longTaskTime += task[1]; blockingTime += Math.max(0, task[1] - 50); }" +
+            "  });" +
+            "  metrics.cls = cls; metrics.longTasks = longTasks;" +
+            "  metrics.longTaskTime = longTaskTime; metrics.totalBlockingTime = blockingTime;" +
+            "  var soft = since > 0;" +
+            "  if (!soft) {" +
+            "    var nav = performance.getEntriesByType('navigation')[0];" +
+            "    if (nav) {" +
+            "      metrics.ttfb = nav.responseStart; metrics.domInteractive = nav.domInteractive;" +
+            "      metrics.domContentLoaded = nav.domContentLoadedEventEnd; metrics.load = nav.loadEventEnd;" +
+            "      metrics.transferSize = nav.transferSize;" +
+            "    }" +
+            "    performance.getEntriesByType('paint').forEach(function(paint) {" +
+            "      metrics[paint.name === 'first-contentful-paint' ? 'fcp' : 'fp'] = paint.startTime;" +
+            "    });" +
+            "    if (perf.lcp !== null) { metrics.lcp = perf.lcp; }" +
+            "  }" +
+            "  perf.lastCollect = now;" +
+            "  done({url: location.href, soft: soft, earlyObservers: perf.early, metrics: metrics});" +
+            "}, 50);";
+
+    private static final String RUN_ID = Instant.now().toString();
+    private static final Json JSON = new Json();
+
+    private PagePerformanceCollector() {
+    }
+
+    /**
+     * Register the observers on every new document so long tasks and layout shifts are seen from the start.
+     * Only Chromium drivers support this; others fall back to installing the observers at collect time.
+     * @param driver Freshly created driver
+     */
+    public static void install(WebDriver driver) {
+        if (!isEnabled() || !(driver instanceof HasCdp)) {
+            return;
+        }
+        try {
+            ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", OBSERVER_SCRIPT));
+            log.debug("Performance observers registered for new documents");
+        } catch (Exception e) {
+            log.warn("Could not register performance observers: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Collect metrics for the page currently loaded and append them to its time series
+     * @param driver WebDriver on the page
+     * @param navigationMillis Wall time of the navigation measured by the caller, or -1 if unknown
+     * @return collected sample, or null if collection is disabled or failed
+     */
+    @SuppressWarnings("unchecked")
+    public static PerformanceSample collect(WebDriver driver, long navigationMillis) {
+        if (!isEnabled()) {
+            return null;
+        }
+        try {
+            Map<String, Object> raw = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(COLLECT_SCRIPT);
+            PerformanceSample sample = PerformanceSample.from(raw, navigationMillis);
+            log.info("Performance for {} page: {}", sample.getPage(), sample.getMetrics());
+            append(sample);
+            return sample;
+        } catch (Exception e) {
+            log.warn("Could not collect page performance: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * File holding the time series of a page for the current environment
+     * @param page Page name, e.g. tokens
+     * @return path of the JSON lines file
+     */
+    public static Path seriesFile(String page) {
+        Configuration config = Configuration.getInstance();
+        String dir = config.getProperty("perf.dir", "");
+        Path base = dir.isBlank() ? config.getStateDirectory().resolve("performance") : Path.of(dir);
+        return base.resolve(config.getEnvironmentKey()).resolve(page + ".jsonl");
+    }
+
+    private static boolean isEnabled() {
+        return Configuration.getInstance().getBooleanProperty("perf.collect.enabled", true);
+    }
+
+    private static synchronized void append(PerformanceSample sample) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("runId", RUN_ID);
+        line.put("timestamp", Instant.now().toString());
+        line.put("page", sample.getPage());
+        line.put("url", sample.getUrl());
+        line.put("navigation", sample.isSoftNavigation() ? "soft" : "hard");
+        line.put("navigationMs", sample.getNavigationMillis());
+        line.put("metrics", sample.getMetrics());
+
+        Path file = seriesFile(sample.getPage());
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, JSON.toJson(line).replace("\n", "") + System.lineSeparator(),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("Could not write performance sample to {}: {}", file, e.getMessage());
+        }
+    }
+
+    @Getter
+    public static class PerformanceSample {
+        private String url;
+        private String page;
+        private boolean softNavigation;
+        private boolean earlyObservers;
+        private long navigationMillis;
+        private final Map<String, Double> metrics = new LinkedHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        static PerformanceSample from(Map<String, Object> raw, long navigationMillis) {
+            PerformanceSample sample = new PerformanceSample();
+            sample.url = (String) raw.get("url");
+            sample.page = pageOf(sample.url, Configuration.getInstance().getEnvironmentKey());
+            sample.softNavigation = Boolean.TRUE.equals(raw.get("soft"));
+            sample.earlyObservers = Boolean.TRUE.equals(raw.get("earlyObservers"));
+            sample.navigationMillis = navigationMillis;
+            ((Map<String, Object>) raw.get("metrics")).forEach((name, value) -> {
+                if (value instanceof Number) {
+                    sample.metrics.put(name, Math.round(((Number) value).doubleValue() * 1000) / 1000.0);
+                }
+            });
+            return sample;
+        }
+
+        /**
+         * Metric value by name (ttfb, fcp, lcp, cls, domContentLoaded, load, totalBlockingTime, ...)
+         * @param name Metric name
+         * @return value, or null if not captured for this navigation
+         */
+        public Double getMetric(String name) {
+            return metrics.get(name);
+        }
+
+        // First path segment of the URL, e.g. /content/about -> content; other hosts are prefixed with the host
+        static String pageOf(String url, String environmentHost) {
+            try {
+                URI uri = URI.create(url);
+                String path = uri.getPath();
+                String segment = path == null || path.isBlank() || "/".equals(path)
+                        ? "home" : path.replaceFirst("^/", "").split("/")[0];
+                String page = segment.replaceAll("[^A-Za-z0-9_-]", "_");
+                if (uri.getHost() != null && !"default".equals(environmentHost) && !uri.getHost().equals(environmentHost)) {
+                    page = uri.getHost().replaceAll("[^A-Za-z0-9.-]", "_") + "_" + page;
+                }
+                return page;
+            } catch (Exception e) {
+                return "unknown";
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.guru.selenium.utils;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Waits for page readiness with a single asynchronous script.
+ * Ready state, framework activity (jQuery/Angular) and DOM quiet time are all polled inside the browser,
+ * and the error hook and mutation observer are installed in the same call.
+ * In network mode the DOM quiet phase is replaced by {@link NetworkIdleMonitor} on DevTools events.
+ */
+@Slf4j
+public final class PageReadinessProbe {
+
+    private static final String READINESS_SCRIPT =
+            "var done = arguments[arguments.length - 1];" +
+            "var timeout = arguments[0], quietWindow = arguments[1], maxQuietWait = arguments[2];" +
+            "var start = performance.now(), phaseStart = start, phase = 'readyState';" +
+            "var phases = {};" +
+            "if (!window.jsErrors) {" +
+            "  window.jsErrors = [];" +
+            "  window.addEventListener('error', function(event) {" +
+            "    window.jsErrors.push(event.message || 'Unknown error');" +
+            "  });" +
+            "  var originalFetch = window.fetch;" +
+            "  window.fetch = function() {" +
+            "    return originalFetch.apply(this, arguments)" +
+            "      .then(function(response) {" +
+            "        if (response.status === 403) {" +
+            "          window.jsErrors.push('Fetch 403: ' + response.url);" +
+            "        }" +
+            "        return response;" +
+            "      });" +
+            "  };" +
+            "}" +
+            "function installDomMonitor() {" +
+            "  if (window._domStabilityMonitor || !document.body) { return; }" +
+            "  window._domStabilityMonitor = {" +
+            "    lastModified: Date.now()," +
+            "    observer: new MutationObserver(function() {" +
+            "      window._domStabilityMonitor.lastModified = Date.now();" +
+            "    })" +
+            "  };" +
+            "  window._domStabilityMonitor.observer.observe(document.body, {childList: true, subtree: true, attributes: true});" +
+            "}" +
+            "function frameworkIdle() {" +
+            "  try { if (typeof jQuery != 'undefined' && jQuery.active != 0) { return false; } } catch (e) {}" +
+            "  try {" +
+            "    if (typeof angular != 'undefined' &&" +
+            "        angular.element(document).injector().get('$http').pendingRequests.length !== 0) { return false; }" +
+            "  } catch (e) {}" +
+            "  return true;" +
+            "}" +
+            "function finish(timedOut) {" +
+            "  var monitor = window._domStabilityMonitor;" +
+            "  done({" +
+            "    readyState: document.readyState," +
+            "    domQuietMs: monitor ? Date.now() - monitor.lastModified : 0," +
+            "    frameworkIdle: frameworkIdle()," +
+            "    errors: (window.jsErrors || []).slice()," +
+            "    timedOut: timedOut," +
+            "    timedOutPhase: timedOut ? phase : null," +
+            "    phases: phases," +
+            "    totalMs: performance.now() - start" +
+            "  });" +
+            "}" +
+            "function tick() {" +
+            "  var now = performance.now();" +
+            "  if (now - start > timeout) { return finish(true); }" +
+            "  if (phase === 'readyState') {" +
+            "    if (document.readyState !== 'complete') { return setTimeout(tick, 50); }" +
+            "    phases.readyState = now - phaseStart; phase = 'framework'; phaseStart = now;" +
+            "    installDomMonitor();" +
+            "  }" +
+            "  if (phase === 'framework') {" +
+            "    if (!frameworkIdle()) { return setTimeout(tick, 50); }" +
+            "    phases.framework = now - phaseStart; phase = 'domQuiet'; phaseStart = now;" +
+            "  }" +
+            "  if (phase === 'domQuiet') {" +
+            "    var monitor = window._domStabilityMonitor;" +
+            "    var quietFor = monitor ? Date.now() - monitor.lastModified : quietWindow;" +
+            "    if (quietFor < quietWindow && now - phaseStart < maxQuietWait) {" +
+            "      return setTimeout(tick, Math.min(100, quietWindow - quietFor + 10));" +
+            "    }" +
+            "    phases.domQuiet = now - phaseStart;" +
+            "  }" +
+            "  finish(false);" +
+            "}" +
+            "tick();";
+
+    private PageReadinessProbe() {
+    }
+
+    /**
+     * Wait until the page is ready
+     * @param driver WebDriver to probe
+     * @param timeoutMillis Overall in-browser deadline, must stay below the driver's script timeout
+     * @param quietWindowMillis How long the DOM must stay unchanged to count as settled
+     * @param maxQuietWaitMillis Upper bound for the DOM quiet phase
+     * @return Structured readiness result, or a failed result if the probe could not run
+     */
+    public static Result await(WebDriver driver, long timeoutMillis, long quietWindowMillis, long maxQuietWaitMillis) {
+        long start = System.currentTimeMillis();
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            try {
+                Object raw = ((JavascriptExecutor) driver).executeAsyncScript(
+                        READINESS_SCRIPT, timeoutMillis, quietWindowMillis, maxQuietWaitMillis);
+                Result result = Result.from(raw, System.currentTimeMillis() - start);
+                log.debug("Page readiness: {}", result);
+                return result;
+            } catch (Exception e) {
+                // A navigation during the probe discards the script context; one retry covers redirects
+                log.debug("Readiness probe attempt {} failed: {}", attempt, e.getMessage());
+            }
+        }
+        log.warn("Readiness probe could not complete");
+        return Result.failed(System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Wait until no fetch/XHR request has been in flight for the idle window, then check ready state and errors.
+     * Falls back to the DOM quiet probe if no network monitor is attached to the driver.
+     * @param driver WebDriver to probe
+     * @param timeoutMillis Overall deadline, must stay below the driver's script timeout
+     * @param idleWindowMillis How long the network must stay idle
+     * @param quietWindowMillis DOM quiet window used by the fallback
+     * @param maxQuietWaitMillis Upper bound for the fallback's DOM quiet phase
+     * @return Structured readiness result including the network activity of the navigation
+     */
+    public static Result awaitNetworkIdle(WebDriver driver, long timeoutMillis, long idleWindowMillis,
+                                          long quietWindowMillis, long maxQuietWaitMillis) {
+        NetworkIdleMonitor monitor = NetworkIdleMonitor.of(driver);
+        if (monitor == null) {
+            return await(driver, timeoutMillis, quietWindowMillis, maxQuietWaitMillis);
+        }
+
+        NetworkIdleMonitor.Activity activity = monitor.awaitIdle(timeoutMillis, idleWindowMillis);
+        Result result = await(driver, Math.max(1000, timeoutMillis - activity.getWaitMillis()), 0, 0);
+        result.phaseMillis.put("networkIdle", activity.getWaitMillis());
+        result.network = activity;
+        if (activity.isTimedOut() && !result.timedOut) {
+            result.timedOut = true;
+            result.timedOutPhase = "networkIdle";
+        }
+        return result;
+    }
+
+    @Getter
+    public static class Result {
+        private String readyState;
+        private long domQuietMillis;
+        private boolean frameworkIdle;
+        private List<String> errors = Collections.emptyList();
+        private boolean timedOut;
+        private String timedOutPhase;
+        private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+        private long browserMillis;
+        private long roundTripMillis;
+        private NetworkIdleMonitor.Activity network;
+
+        @SuppressWarnings("unchecked")
+        static Result from(Object raw, long roundTripMillis) {
+            Result result = new Result();
+            result.roundTripMillis = roundTripMillis;
+            if (!(raw instanceof Map)) {
+                return result;
+            }
+
+            Map<String, Object> map = (Map<String, Object>) raw;
+            result.readyState = String.valueOf(map.get("readyState"));
+            result.domQuietMillis = toLong(map.get("domQuietMs"));
+            result.frameworkIdle = Boolean.TRUE.equals(map.get("frameworkIdle"));
+            result.timedOut = Boolean.TRUE.equals(map.get("timedOut"));
+            result.timedOutPhase = (String) map.get("timedOutPhase");
+            result.browserMillis = toLong(map.get("totalMs"));
+            if (map.get("errors") instanceof List) {
+                result.errors = ((List<Object>) map.get("errors")).stream().map(String::valueOf).toList();
+            }
+            if (map.get("phases") instanceof Map) {
+                ((Map<String, Object>) map.get("phases")).forEach((phase, millis) ->
+                        result.phaseMillis.put(phase, toLong(millis)));
+            }
+            return result;
+        }
+
+        static Result failed(long roundTripMillis) {
+            Result result = new Result();
+            result.readyState = "unknown";
+            result.timedOut = true;
+            result.roundTripMillis = roundTripMillis;
+            return result;
+        }
+
+        public boolean isReady() {
+            return !timedOut && "complete".equals(readyState);
+        }
+
+        private static long toLong(Object value) {
+            return value instanceof Number ? Math.round(((Number) value).doubleValue()) : 0;
+        }
+
+        @Override
+        public String toString() {
+            return "readyState=" + readyState +
+                    ", frameworkIdle=" + frameworkIdle +
+                    ", domQuiet=" + domQuietMillis + " ms" +
+                    ", phases=" + phaseMillis +
+                    ", browser=" + browserMillis + " ms" +
+                    ", roundTrip=" + roundTripMillis + " ms" +
+                    (network != null ? ", network=[" + network + "]" : "") +
+                    (timedOut ? ", timedOut in " + timedOutPhase : "") +
+                    ", errors=" + errors.size();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Sizing rules for parallel scenario execution
+ */
+@Slf4j
+public final class ParallelExecution {
+
+    private ParallelExecution() {
+    }
+
+    /**
+     * Number of browser sessions that may run at the same time.
+     * Uses {@code parallel.workers} when set, otherwise the smaller of the CPU count
+     * and the number of browsers that fit into free physical memory.
+     * @return worker count, at least 1
+     */
+    public static int workerCount() {
+        Configuration config = Configuration.getInstance();
+        int configured = config.getIntProperty("parallel.workers", 0);
+        if (configured > 0) {
+            return configured;
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        long memoryPerWorkerMb = config.getIntProperty("parallel.memoryPerWorkerMb", 1024);
+        int byMemory = Integer.MAX_VALUE;
+
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            long freeMb = os.getFreeMemorySize() / (1024 * 1024);
+            byMemory = (int) Math.max(1, freeMb / Math.max(1, memoryPerWorkerMb));
+            log.debug("Free memory: {} MB, allows {} worker(s) at {} MB each", freeMb, byMemory, memoryPerWorkerMb);
+        }
+
+        int workers = Math.max(1, Math.min(cores, byMemory));
+        log.info("Parallel worker count: {} (cores: {}, memory limit: {})", workers, cores,
+                byMemory == Integer.MAX_VALUE ? "unknown" : byMemory);
+        return workers;
+    }
+}
@@ -0,0 +1,189 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates page performance budgets: loads a page repeatedly, drops warm-up loads
+ * and compares a percentile of each metric with its limit
+ */
+@Slf4j
+public final class PerformanceBudget {
+    private static final String PAGE_BUDGET_PREFIX = "perf.budget.page.";
+    private static final String NAVIGATION_METRIC = "navigation";
+
+    // Names accepted in feature files and config keys -> metric names reported by PagePerformanceCollector
+    private static final Map<String, String> METRIC_ALIASES = new LinkedHashMap<>();
+
+    static {
+        METRIC_ALIASES.put("ttfb", "ttfb");
+        METRIC_ALIASES.put("fp", "fp");
+        METRIC_ALIASES.put("fcp", "fcp");
+        METRIC_ALIASES.put("lcp", "lcp");
+        METRIC_ALIASES.put("cls", "cls");
+        METRIC_ALIASES.put("tbt", "totalBlockingTime");
+        METRIC_ALIASES.put("totalblockingtime", "totalBlockingTime");
+        METRIC_ALIASES.put("longtasks", "longTasks");
+        METRIC_ALIASES.put("longtasktime", "longTaskTime");
+        METRIC_ALIASES.put("dominteractive", "domInteractive");
+        METRIC_ALIASES.put("dcl", "domContentLoaded");
+        METRIC_ALIASES.put("domcontentloaded", "domContentLoaded");
+        METRIC_ALIASES.put("load", "load");
+        METRIC_ALIASES.put("transfersize", "transferSize");
+        METRIC_ALIASES.put(NAVIGATION_METRIC, NAVIGATION_METRIC);
+    }
+
+    private PerformanceBudget() {
+    }
+
+    /**
+     * Budgets configured for a page as perf.budget.page.&lt;page&gt;.&lt;metric&gt;=&lt;limit&gt;
+     * @param page Page name, e.g. tokens
+     * @return metric name -> limit, empty if the page has no budgets
+     */
+    public static Map<String, Double> configuredBudgets(String page) {
+        Configuration config = Configuration.getInstance();
+        String prefix = PAGE_BUDGET_PREFIX + page + ".";
+        Map<String, Double> budgets = new LinkedHashMap<>();
+        for (String key : config.getPropertyNames(prefix)) {
+            String value = config.getProperty(key, "").trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            try {
+                budgets.put(resolveMetric(key.substring(prefix.length())), Double.parseDouble(value));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring invalid budget {}={}: {}", key, value, e.getMessage());
+            }
+        }
+        return budgets;
+    }
+
+    /**
+     * Load a page warm-up + loads times and evaluate every budget against the measured loads
+     * @param page Page name used in reports
+     * @param budgets Metric name (or alias) -> limit, in ms except for unitless metrics such as CLS
+     * @param percentile Percentile compared with the limit, e.g. 75
+     * @param loads Number of measured loads after the warm-up
+     * @param loader Performs one page load and returns its sample (null if it could not be collected)
+     * @return one result per budget
+     */
+    public static List<BudgetResult> evaluate(String page, Map<String, Double> budgets, double percentile,
+                                              int loads, Supplier<PagePerformanceCollector.PerformanceSample> loader) {
+        Configuration config = Configuration.getInstance();
+        int warmup = config.getIntProperty("perf.budget.warmup", 1);
+
+        for (int i = 0; i < warmup; i++) {
+            loader.get();
+            log.debug("Warm-up load {}/{} of {} page done", i + 1, warmup, page);
+        }
+
+        List<PagePerformanceCollector.PerformanceSample> samples = new ArrayList<>();
+        int failedLoads = 0;
+        for (int i = 0; i < loads; i++) {
+            PagePerformanceCollector.PerformanceSample sample = loader.get();
+            if (sample == null) {
+                failedLoads++;
+            } else {
+                samples.add(sample);
+            }
+        }
+
+        List<BudgetResult> results = new ArrayList<>();
+        for (Map.Entry<String, Double> budget : budgets.entrySet()) {
+            String metric = resolveMetric(budget.getKey());
+            List<Double> values = new ArrayList<>();
+            for (PagePerformanceCollector.PerformanceSample sample : samples) {
+                Double value = NAVIGATION_METRIC.equals(metric)
+                        ? Double.valueOf(sample.getNavigationMillis()) : sample.getMetric(metric);
+                if (value != null) {
+                    values.add(value);
+                }
+            }
+            BudgetResult result = new BudgetResult(page, metric, budget.getValue(), percentile, loads,
+                    failedLoads, values);
+            log.info("Performance budget {}: {}", result.isWithinBudget() ? "met" : "EXCEEDED", result.describe());
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Map a metric name from a feature file or config key to the collected metric name
+     * @param name Metric name or alias, case-insensitive (LCP, TTFB, TBT, DCL, ...)
+     * @return collected metric name
+     */
+    public static String resolveMetric(String name) {
+        String metric = METRIC_ALIASES.get(name.trim().toLowerCase());
+        if (metric == null) {
+            throw new IllegalArgumentException("Unknown performance metric: " + name
+                    + ", expected one of " + METRIC_ALIASES.keySet());
+        }
+        return metric;
+    }
+
+    /**
+     * Nearest-rank percentile, exact for the small sample counts used by budgets
+     * @param values Measured values
+     * @param percentile Percentile between 0 and 100
+     * @return value at the percentile, NaN if there are no values
+     */
+    static double percentileOf(List<Double> values, double percentile) {
+        if (values.isEmpty()) {
+            return Double.NaN;
+        }
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.min(sorted.size(), Math.max(1, rank)) - 1);
+    }
+
+    @Getter
+    public static class BudgetResult {
+        private final String page;
+        private final String metric;
+        private final double limit;
+        private final double percentile;
+        private final int loads;
+        private final int failedLoads;
+        private final List<Double> values;
+        private final double value;
+
+        BudgetResult(String page, String metric, double limit, double percentile, int loads, int failedLoads,
+                     List<Double> values) {
+            this.page = page;
+            this.metric = metric;
+            this.limit = limit;
+            this.percentile = percentile;
+            this.loads = loads;
+            this.failedLoads = failedLoads;
+            this.values = values;
+            this.value = percentileOf(values, percentile);
+        }
+
+        /**
+         * @return true if every load reported the metric and its percentile is under the limit
+         */
+        public boolean isWithinBudget() {
+            return values.size() == loads && value < limit;
+        }
+
+        public String describe() {
+            return String.format("%s page %s p%s = %s (limit %s) over %d/%d loads, values %s",
+                    page, metric, formatNumber(percentile), Double.isNaN(value) ? "n/a" : formatNumber(value),
+                    formatNumber(limit), values.size(), loads, values);
+        }
+
+        private static String formatNumber(double number) {
+            return number == Math.rint(number) ? String.valueOf((long) number) : String.valueOf(number);
+        }
+    }
+}
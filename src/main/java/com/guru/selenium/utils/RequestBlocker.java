@@ -0,0 +1,370 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Blocks requests that assertions never look at (analytics, fonts, media, third-party widgets)
+ * according to a named profile from config.properties:
+ * blocking.profile.&lt;name&gt;.deny and blocking.profile.&lt;name&gt;.allow, comma-separated URL patterns
+ * with * wildcards. Without allow patterns the deny patterns go to Network.setBlockedURLs; with allow
+ * patterns only requests matching a deny pattern are paused (Fetch domain) and failed unless allowed.
+ * Blocked requests are counted per page; bytes avoided are estimated from the sizes the same URLs had
+ * in unblocked loads, which are persisted per environment.
+ */
+@Slf4j
+public class RequestBlocker {
+    public static final String FULL_PROFILE = "full";
+
+    // Blockers per browser session, keyed by the undecorated driver
+    private static final Map<WebDriver, RequestBlocker> blockers = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final Map<String, PageSavings> savings = new ConcurrentHashMap<>();
+    private static final Map<String, Long> knownSizes = new ConcurrentHashMap<>();
+    private static volatile String suiteProfile;
+    private static boolean sizesLoaded;
+
+    private final DevTools devTools;
+    private final List<Pattern> sizeTracked;
+    private final Map<String, String[]> requests = new ConcurrentHashMap<>();
+    private volatile Profile profile = Profile.none();
+    private volatile boolean fetchEnabled;
+
+    private RequestBlocker(DevTools devTools) {
+        this.devTools = devTools;
+        // Sizes are learned for every URL that some profile may block
+        this.sizeTracked = Configuration.getInstance().getPropertyNames("blocking.profile.").stream()
+                .filter(key -> key.endsWith(".deny"))
+                .flatMap(key -> patterns(Configuration.getInstance().getProperty(key, "")).stream())
+                .map(RequestBlocker::globToRegex)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Subscribe to the driver's Network events and apply the current suite profile
+     * @param driver Chrome driver, before decoration
+     * @return the blocker, or null if the browser has no DevTools support
+     */
+    @SuppressWarnings("unchecked")
+    public static RequestBlocker attach(WebDriver driver) {
+        DevTools devTools = DevToolsSupport.session(driver);
+        if (devTools == null) {
+            log.info("DevTools not available, request blocking disabled for this driver");
+            return null;
+        }
+        loadSizes();
+        RequestBlocker blocker = new RequestBlocker(devTools);
+        try {
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            devTools.addListener(new Event<>("Network.requestWillBeSent", input -> (Map<String, Object>) input.read(Json.MAP_TYPE)),
+                    blocker::onRequestWillBeSent);
+            devTools.addListener(new Event<>("Network.loadingFinished", input -> (Map<String, Object>) input.read(Json.MAP_TYPE)),
+                    blocker::onLoadingFinished);
+            devTools.addListener(new Event<>("Network.loadingFailed", input -> (Map<String, Object>) input.read(Json.MAP_TYPE)),
+                    blocker::onLoadingFailed);
+            devTools.addListener(new Event<>("Fetch.requestPaused", input -> (Map<String, Object>) input.read(Json.MAP_TYPE)),
+                    blocker::onRequestPaused);
+        } catch (Exception e) {
+            log.warn("Could not subscribe to DevTools Network events: {}", e.getMessage());
+            return null;
+        }
+        blockers.put(driver, blocker);
+        blocker.apply(profileFor(List.of()));
+        return blocker;
+    }
+
+    /**
+     * @param driver Driver as handed out by DriverFactory
+     * @return the attached blocker, or null if none was attached
+     */
+    public static RequestBlocker of(WebDriver driver) {
+        return blockers.get(DevToolsSupport.unwrap(driver));
+    }
+
+    /**
+     * Select the blocking profile of a suite (blocking.suite.&lt;suite&gt;); an explicit -Dblocking.profile wins
+     * @param suite Suite name, e.g. smoke
+     */
+    public static void useSuite(String suite) {
+        Configuration config = Configuration.getInstance();
+        String explicit = System.getProperty("blocking.profile");
+        suiteProfile = explicit != null && !explicit.isBlank()
+                ? explicit : config.getProperty("blocking.suite." + suite, config.getProperty("blocking.profile", FULL_PROFILE));
+        log.info("Request blocking profile for suite {}: {}", suite, suiteProfile);
+    }
+
+    /**
+     * Profile for a scenario: full for scenarios tagged with one of blocking.fullLoadTags, else the suite profile
+     * @param tags Scenario tags, e.g. @performance
+     * @return profile name
+     */
+    public static String profileFor(Collection<String> tags) {
+        if (isFullLoad(tags)) {
+            return FULL_PROFILE;
+        }
+        Configuration config = Configuration.getInstance();
+        return suiteProfile != null ? suiteProfile : config.getProperty("blocking.profile", FULL_PROFILE);
+    }
+
+    /**
+     * @param tags Scenario tags
+     * @return true if one of the tags is in blocking.fullLoadTags, i.e. the scenario measures full page loads
+     */
+    public static boolean isFullLoad(Collection<String> tags) {
+        List<String> fullLoadTags = patterns(Configuration.getInstance().getProperty("blocking.fullLoadTags", "@performance"));
+        return tags.stream().anyMatch(fullLoadTags::contains);
+    }
+
+    /**
+     * Switch the driver to a profile; the full profile (or one without deny patterns) blocks nothing
+     * @param profileName Profile name
+     */
+    public synchronized void apply(String profileName) {
+        if (profileName.equals(profile.name)) {
+            return;
+        }
+        Profile next = Profile.load(profileName);
+        try {
+            if (fetchEnabled) {
+                devTools.send(new Command<>("Fetch.disable", Map.of()));
+                fetchEnabled = false;
+            }
+            boolean useFetch = !next.allow.isEmpty();
+            if (useFetch && HarTraffic.isActive()) {
+                // HAR record/replay owns the Fetch domain; a second Fetch.enable would replace its patterns
+                log.warn("Profile {} has allow patterns, ignored while HAR {} is active", next.name, HarTraffic.mode());
+                useFetch = false;
+            }
+            if (!useFetch) {
+                devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls", next.deny)));
+            } else {
+                devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls", List.of())));
+                List<Map<String, Object>> fetchPatterns = new ArrayList<>();
+                next.deny.forEach(pattern -> fetchPatterns.add(Map.of("urlPattern", pattern, "requestStage", "Request")));
+                devTools.send(new Command<>("Fetch.enable", Map.of("patterns", fetchPatterns)));
+                fetchEnabled = true;
+            }
+            profile = next;
+            log.info("Request blocking profile {}: {} deny, {} allow patterns", next.name, next.deny.size(), next.allow.size());
+        } catch (Exception e) {
+            log.warn("Could not apply request blocking profile {}: {}", profileName, e.getMessage());
+        }
+    }
+
+    public String getProfileName() {
+        return profile.name;
+    }
+
+    /**
+     * @return true if the current profile blocks any request
+     */
+    public boolean isBlocking() {
+        return !profile.deny.isEmpty();
+    }
+
+    /**
+     * Log requests and estimated bytes avoided per page, then persist the learned request sizes
+     */
+    public static void logStatistics() {
+        if (!savings.isEmpty()) {
+            log.info("Requests blocked per page:");
+            new TreeMap<>(savings).forEach((page, saved) -> log.info("  {}: {} requests, ~{} KB avoided{}", page,
+                    saved.requests.get(), saved.bytes.get() / 1024,
+                    saved.unknownSize.get() > 0 ? " (" + saved.unknownSize.get() + " of unknown size)" : ""));
+        }
+        saveSizes();
+    }
+
+    private void onRequestWillBeSent(Map<String, Object> event) {
+        Object request = event.get("request");
+        String url = request instanceof Map ? String.valueOf(((Map<?, ?>) request).get("url")) : "";
+        requests.put(String.valueOf(event.get("requestId")), new String[]{url, String.valueOf(event.get("documentURL"))});
+    }
+
+    private void onLoadingFinished(Map<String, Object> event) {
+        String[] request = requests.remove(String.valueOf(event.get("requestId")));
+        Object length = event.get("encodedDataLength");
+        if (request != null && length instanceof Number && isSizeTracked(request[0])) {
+            knownSizes.put(withoutQuery(request[0]), ((Number) length).longValue());
+        }
+    }
+
+    private void onLoadingFailed(Map<String, Object> event) {
+        String[] request = requests.remove(String.valueOf(event.get("requestId")));
+        boolean blocked = event.get("blockedReason") != null
+                || String.valueOf(event.get("errorText")).contains("ERR_BLOCKED_BY_CLIENT");
+        if (request == null || !blocked) {
+            return;
+        }
+        String page = PagePerformanceCollector.PerformanceSample.pageOf(request[1],
+                Configuration.getInstance().getEnvironmentKey());
+        PageSavings saved = savings.computeIfAbsent(page, key -> new PageSavings());
+        saved.requests.incrementAndGet();
+        Long size = knownSizes.get(withoutQuery(request[0]));
+        if (size != null) {
+            saved.bytes.addAndGet(size);
+        } else {
+            saved.unknownSize.incrementAndGet();
+        }
+    }
+
+    private void onRequestPaused(Map<String, Object> event) {
+        if (!fetchEnabled) {
+            // Paused by another Fetch client on this session (HAR record/replay)
+            return;
+        }
+        Object request = event.get("request");
+        String url = request instanceof Map ? String.valueOf(((Map<?, ?>) request).get("url")) : "";
+        String requestId = String.valueOf(event.get("requestId"));
+        try {
+            if (profile.isAllowed(url)) {
+                devTools.send(new Command<>("Fetch.continueRequest", Map.of("requestId", requestId)));
+            } else {
+                devTools.send(new Command<>("Fetch.failRequest", Map.of("requestId", requestId, "errorReason", "BlockedByClient")));
+            }
+        } catch (Exception e) {
+            log.debug("Could not resolve paused request {}: {}", url, e.getMessage());
+        }
+    }
+
+    private boolean isSizeTracked(String url) {
+        for (Pattern pattern : sizeTracked) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> patterns(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    // Same wildcard semantics as Network.setBlockedURLs: * matches any run of characters
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : glob.split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static String withoutQuery(String url) {
+        int end = url.length();
+        for (char separator : new char[]{'?', '#'}) {
+            int index = url.indexOf(separator);
+            if (index >= 0) {
+                end = Math.min(end, index);
+            }
+        }
+        return url.substring(0, end);
+    }
+
+    private static Path sizesFile() {
+        Configuration config = Configuration.getInstance();
+        return config.getStateDirectory().resolve("blocking").resolve(config.getEnvironmentKey() + "-sizes.json");
+    }
+
+    private static synchronized void loadSizes() {
+        if (sizesLoaded) {
+            return;
+        }
+        sizesLoaded = true;
+        Path file = sizesFile();
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            Map<String, Object> stored = new Json().toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            stored.forEach((url, size) -> knownSizes.put(url, ((Number) size).longValue()));
+            log.debug("Loaded sizes of {} blockable requests from {}", knownSizes.size(), file);
+        } catch (Exception e) {
+            log.warn("Could not read blockable request sizes: {}", e.getMessage());
+        }
+    }
+
+    private static synchronized void saveSizes() {
+        if (knownSizes.isEmpty()) {
+            return;
+        }
+        Path file = sizesFile();
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, new Json().toJson(new TreeMap<>(knownSizes)), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            log.warn("Could not save blockable request sizes: {}", e.getMessage());
+        }
+    }
+
+    private static class Profile {
+        private final String name;
+        private final List<String> deny;
+        private final List<String> allow;
+        private final List<Pattern> allowPatterns;
+
+        private Profile(String name, List<String> deny, List<String> allow) {
+            this.name = name;
+            this.deny = deny;
+            this.allow = allow;
+            this.allowPatterns = allow.stream().map(RequestBlocker::globToRegex).collect(Collectors.toList());
+        }
+
+        static Profile none() {
+            return new Profile(FULL_PROFILE, List.of(), List.of());
+        }
+
+        static Profile load(String name) {
+            if (FULL_PROFILE.equals(name)) {
+                return none();
+            }
+            Configuration config = Configuration.getInstance();
+            List<String> deny = patterns(config.getProperty("blocking.profile." + name + ".deny", ""));
+            if (deny.isEmpty()) {
+                log.warn("Request blocking profile {} has no deny patterns, nothing is blocked", name);
+            }
+            return new Profile(name, deny, patterns(config.getProperty("blocking.profile." + name + ".allow", "")));
+        }
+
+        boolean isAllowed(String url) {
+            for (Pattern pattern : allowPatterns) {
+                if (pattern.matcher(url).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class PageSavings {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong unknownSize = new AtomicLong();
+    }
+}
@@ -0,0 +1,279 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Preloads the next Scenario Outline row's page in a background tab between two scenarios.
+ * At the start of a scenario the feature file is read to find the next example row; the row's page
+ * column (prefetch.column) is mapped to a route. When the driver pool has reset the driver after the
+ * scenario, the route starts loading in a new tab on the clean session, so no cookies or storage of the
+ * previous scenario reach it. When the next scenario navigates to that route on the same driver, it
+ * switches to the already loaded tab instead of navigating. Prefetches that the next scenario does not
+ * use (another driver ran it, or it was filtered out) are closed. Disabled while HAR record/replay is
+ * active, since the extra tab would bypass it. Scenarios tagged with blocking.fullLoadTags and scenarios
+ * under a request blocking profile are not prefetched: the extra tab would load during their measurements,
+ * and blocking, the network monitor and the locator cache only follow the session's first tab.
+ */
+@Slf4j
+public class ScenarioPrefetcher {
+    // Prefetchers per browser session, keyed by the undecorated driver
+    private static final Map<WebDriver, ScenarioPrefetcher> prefetchers = Collections.synchronizedMap(new WeakHashMap<>());
+    // Feature file lines per URI
+    private static final Map<URI, List<String>> features = new ConcurrentHashMap<>();
+    private static final AtomicBoolean blockingWarned = new AtomicBoolean();
+
+    private volatile Prefetch current;
+    private volatile Prefetch next;
+    private volatile Prefetch planned;
+
+    public static boolean isEnabled() {
+        return Configuration.getInstance().getBooleanProperty("prefetch.enabled", false) && !HarTraffic.isActive();
+    }
+
+    /**
+     * @param driver Driver as handed out by DriverFactory
+     * @return the driver's prefetcher
+     */
+    public static ScenarioPrefetcher of(WebDriver driver) {
+        return prefetchers.computeIfAbsent(DevToolsSupport.unwrap(driver), raw -> new ScenarioPrefetcher());
+    }
+
+    /**
+     * Start loading the page planned for the next scenario; called by the pool once the driver is reset
+     * @param driver Driver as handed out by DriverFactory, on its main window
+     */
+    public static void startPlanned(WebDriver driver) {
+        ScenarioPrefetcher prefetcher = prefetchers.get(DevToolsSupport.unwrap(driver));
+        if (prefetcher == null) {
+            return;
+        }
+        // The reset closed every other tab, including an unused prefetch
+        prefetcher.current = null;
+        prefetcher.next = null;
+        Prefetch plan = prefetcher.planned;
+        prefetcher.planned = null;
+        if (plan == null) {
+            return;
+        }
+        try {
+            prefetcher.next = open(driver, plan);
+        } catch (Exception e) {
+            log.debug("Could not prefetch {}: {}", plan.route, e.getMessage());
+        }
+    }
+
+    /**
+     * Switch to the tab prefetched for the current scenario if it holds the route
+     * @param driver Driver as handed out by DriverFactory
+     * @param route Route the scenario is about to open, e.g. /tokens
+     * @return true if the driver now shows the prefetched page
+     */
+    public static boolean switchToWarmTab(WebDriver driver, String route) {
+        ScenarioPrefetcher prefetcher = prefetchers.get(DevToolsSupport.unwrap(driver));
+        Prefetch warm = prefetcher == null ? null : prefetcher.current;
+        if (warm == null || !warm.route.equals(route)) {
+            return false;
+        }
+        prefetcher.current = null;
+        try {
+            driver.switchTo().window(warm.handle);
+            log.info("Using page {} prefetched {} ms ago", route, System.currentTimeMillis() - warm.startedAt);
+            return true;
+        } catch (Exception e) {
+            log.debug("Prefetched tab for {} is gone: {}", route, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Keep the prefetch meant for this scenario, drop any other, and plan the prefetch of the next example row
+     * @param driver Driver leased for the scenario
+     * @param featureUri URI of the feature file
+     * @param line Line of the scenario (its example row for outlines)
+     * @param tags Scenario tags
+     * @param routes Maps the row's page column to a route, null for unknown pages
+     */
+    public void beginScenario(WebDriver driver, URI featureUri, int line, Collection<String> tags,
+                              Function<String, String> routes) {
+        Prefetch pending = next;
+        next = null;
+        current = null;
+        planned = null;
+        boolean allowed = allowedFor(driver, tags);
+        if (allowed && pending != null && pending.featureUri.equals(featureUri) && pending.line == line) {
+            current = pending;
+        } else if (pending != null) {
+            log.debug("Prefetch of {} not used by this scenario, closing it", pending.route);
+            closeTab(driver, pending.handle);
+        }
+        if (!allowed) {
+            return;
+        }
+
+        String baseUrl = System.getenv("EXPLORER_URL");
+        if (baseUrl == null) {
+            return;
+        }
+        try {
+            List<String> lines = features.computeIfAbsent(featureUri, ScenarioPrefetcher::readFeature);
+            NextRow row = nextExampleRow(lines, line, Configuration.getInstance().getProperty("prefetch.column", "pageName"));
+            String route = row == null ? null : routes.apply(row.value);
+            if (route != null) {
+                planned = new Prefetch(featureUri, row.line, route, baseUrl + route, null, 0);
+            }
+        } catch (Exception e) {
+            log.debug("Could not plan a prefetch for the next scenario: {}", e.getMessage());
+        }
+    }
+
+    private static boolean allowedFor(WebDriver driver, Collection<String> tags) {
+        if (RequestBlocker.isFullLoad(tags)) {
+            log.debug("Not prefetching around a full load scenario {}", tags);
+            return false;
+        }
+        RequestBlocker blocker = RequestBlocker.of(driver);
+        if (blocker != null && blocker.isBlocking()) {
+            if (blockingWarned.compareAndSet(false, true)) {
+                log.warn("Request blocking profile {} only covers the first tab; prefetching is off while it is active",
+                        blocker.getProfileName());
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private static Prefetch open(WebDriver driver, Prefetch plan) {
+        String origin = driver.getWindowHandle();
+        driver.switchTo().newWindow(WindowType.TAB);
+        String handle = driver.getWindowHandle();
+        try {
+            ((JavascriptExecutor) driver).executeScript("window.location.href = arguments[0];", plan.url);
+        } finally {
+            driver.switchTo().window(origin);
+        }
+        log.info("Prefetching {} for the scenario at line {}", plan.route, plan.line);
+        return new Prefetch(plan.featureUri, plan.line, plan.route, plan.url, handle, System.currentTimeMillis());
+    }
+
+    private static void closeTab(WebDriver driver, String handle) {
+        String origin = driver.getWindowHandle();
+        try {
+            driver.switchTo().window(handle);
+            driver.close();
+        } catch (Exception e) {
+            log.debug("Could not close prefetched tab: {}", e.getMessage());
+        } finally {
+            driver.switchTo().window(origin);
+        }
+    }
+
+    /**
+     * Example row following the given one in the same Examples table, skipping blank and commented lines
+     * @param lines Feature file lines
+     * @param line 1-based line of the current example row
+     * @param column Header of the column to read
+     * @return the next row's line and cell value, or null if the row is the table's last
+     */
+    static NextRow nextExampleRow(List<String> lines, int line, String column) {
+        if (line < 1 || line > lines.size() || !lines.get(line - 1).trim().startsWith("|")) {
+            return null;
+        }
+        int examples = line - 1;
+        while (examples >= 0 && !lines.get(examples).trim().startsWith("Examples:")) {
+            examples--;
+        }
+        if (examples < 0) {
+            return null;
+        }
+        int header = examples + 1;
+        while (header < line && !lines.get(header).trim().startsWith("|")) {
+            header++;
+        }
+        int index = cells(lines.get(header)).indexOf(column);
+        if (index < 0) {
+            return null;
+        }
+        for (int i = line; i < lines.size(); i++) {
+            String text = lines.get(i).trim();
+            if (text.isEmpty() || text.startsWith("#")) {
+                continue;
+            }
+            if (!text.startsWith("|")) {
+                return null;
+            }
+            List<String> cells = cells(text);
+            return index < cells.size() ? new NextRow(i + 1, cells.get(index)) : null;
+        }
+        return null;
+    }
+
+    private static List<String> cells(String row) {
+        String text = row.trim();
+        return Arrays.stream(text.substring(1, text.length() - 1).split("\\|"))
+                .map(String::trim)
+                .toList();
+    }
+
+    private static List<String> readFeature(URI featureUri) {
+        try {
+            if ("classpath".equals(featureUri.getScheme())) {
+                try (InputStream in = ScenarioPrefetcher.class.getClassLoader()
+                        .getResourceAsStream(featureUri.getSchemeSpecificPart().replaceFirst("^/", ""))) {
+                    return in == null ? List.of() : new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+                }
+            }
+            return Files.readAllLines(Path.of(featureUri), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            log.debug("Could not read feature {}: {}", featureUri, e.getMessage());
+            return List.of();
+        }
+    }
+
+    static class NextRow {
+        final int line;
+        final String value;
+
+        NextRow(int line, String value) {
+            this.line = line;
+            this.value = value;
+        }
+    }
+
+    private static class Prefetch {
+        private final URI featureUri;
+        private final int line;
+        private final String route;
+        private final String url;
+        // Null while only planned
+        private final String handle;
+        private final long startedAt;
+
+        private Prefetch(URI featureUri, int line, String route, String url, String handle, long startedAt) {
+            this.featureUri = featureUri;
+            this.line = line;
+            this.route = route;
+            this.url = url;
+            this.handle = handle;
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of an authenticated browser session (cookies, localStorage, sessionStorage)
+ * persisted per environment so signed-in scenarios can skip the Telegram login flow
+ */
+@Slf4j
+public class SessionCache {
+    private static final String READ_STORAGE_SCRIPT =
+            "function dump(storage) {" +
+            "  var result = {};" +
+            "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); result[key] = storage.getItem(key); }" +
+            "  return result;" +
+            "}" +
+            "return {origin: window.location.origin, local: dump(window.localStorage), session: dump(window.sessionStorage)};";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];" +
+            "Object.keys(local).forEach(function(key) { window.localStorage.setItem(key, local[key]); });" +
+            "Object.keys(session).forEach(function(key) { window.sessionStorage.setItem(key, session[key]); });";
+
+    private static SessionCache instance;
+    private final Configuration config;
+    private final Json json = new Json();
+    private final Path snapshotFile;
+
+    private SessionCache() {
+        this.config = Configuration.getInstance();
+        this.snapshotFile = config.getStateDirectory()
+                .resolve("sessions")
+                .resolve(config.getEnvironmentKey() + ".json");
+        log.info("SessionCache initialized with snapshot file: {}", snapshotFile);
+    }
+
+    public static synchronized SessionCache getInstance() {
+        if (instance == null) {
+            instance = new SessionCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Save the current session state of the driver
+     * @param driver Driver with an authenticated session, positioned on the application origin
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void save(WebDriver driver) {
+        try {
+            Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+
+            List<Map<String, Object>> cookies = new ArrayList<>();
+            for (Cookie cookie : driver.manage().getCookies()) {
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("name", cookie.getName());
+                entry.put("value", cookie.getValue());
+                entry.put("domain", cookie.getDomain());
+                entry.put("path", cookie.getPath());
+                entry.put("secure", cookie.isSecure());
+                entry.put("httpOnly", cookie.isHttpOnly());
+                entry.put("sameSite", cookie.getSameSite());
+                entry.put("expiry", cookie.getExpiry() == null ? null : cookie.getExpiry().getTime());
+                cookies.add(entry);
+            }
+
+            Map<String, Object> snapshot = new HashMap<>();
+            snapshot.put("savedAt", System.currentTimeMillis());
+            snapshot.put("origin", storage.get("origin"));
+            snapshot.put("localStorage", storage.get("local"));
+            snapshot.put("sessionStorage", storage.get("session"));
+            snapshot.put("cookies", cookies);
+
+            Files.createDirectories(snapshotFile.getParent());
+            Files.writeString(snapshotFile, json.toJson(snapshot), StandardCharsets.UTF_8);
+            log.info("Saved session snapshot with {} cookies for {}", cookies.size(), storage.get("origin"));
+        } catch (Exception e) {
+            log.warn("Could not save session snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Restore a saved, unexpired session into the driver and reload the application origin
+     * @param driver Fresh driver to restore the session into
+     * @return true if a snapshot was restored, false if none exists or it has expired
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized boolean restore(WebDriver driver) {
+        Map<String, Object> snapshot = load();
+        if (snapshot == null) {
+            return false;
+        }
+
+        long ageMillis = System.currentTimeMillis() - ((Number) snapshot.get("savedAt")).longValue();
+        long ttlMillis = config.getIntProperty("session.cache.ttlMinutes", 720) * 60_000L;
+        if (ageMillis > ttlMillis) {
+            log.info("Session snapshot expired ({} min old), full login required", ageMillis / 60_000);
+            return false;
+        }
+
+        try {
+            String origin = (String) snapshot.get("origin");
+            driver.get(origin);
+
+            String host = URI.create(origin).getHost();
+            int restoredCookies = 0;
+            for (Map<String, Object> entry : (List<Map<String, Object>>) snapshot.get("cookies")) {
+                Cookie cookie = toCookie(entry);
+                if (cookie.getExpiry() != null && cookie.getExpiry().before(new Date())) {
+                    continue;
+                }
+                if (cookie.getDomain() != null && !host.endsWith(cookie.getDomain().replaceFirst("^\\.", ""))) {
+                    continue;
+                }
+                try {
+                    driver.manage().addCookie(cookie);
+                    restoredCookies++;
+                } catch (Exception e) {
+                    log.debug("Skipping cookie {}: {}", cookie.getName(), e.getMessage());
+                }
+            }
+
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT,
+                    snapshot.getOrDefault("localStorage", Map.of()),
+                    snapshot.getOrDefault("sessionStorage", Map.of()));
+
+            driver.navigate().refresh();
+            log.info("Restored session snapshot ({} cookies, {} min old)", restoredCookies, ageMillis / 60_000);
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not restore session snapshot: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Delete the snapshot, e.g. when a restored session turns out to be signed out
+     */
+    public synchronized void invalidate() {
+        try {
+            if (Files.deleteIfExists(snapshotFile)) {
+                log.info("Invalidated session snapshot {}", snapshotFile);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete session snapshot: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, Object> load() {
+        if (!Files.exists(snapshotFile)) {
+            log.info("No session snapshot found at {}", snapshotFile);
+            return null;
+        }
+        try {
+            return json.toType(Files.readString(snapshotFile, StandardCharsets.UTF_8), Json.MAP_TYPE);
+        } catch (Exception e) {
+            log.warn("Could not read session snapshot: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Cookie toCookie(Map<String, Object> entry) {
+        Cookie.Builder builder = new Cookie.Builder((String) entry.get("name"), (String) entry.get("value"))
+                .path((String) entry.get("path"))
+                .isSecure(Boolean.TRUE.equals(entry.get("secure")))
+                .isHttpOnly(Boolean.TRUE.equals(entry.get("httpOnly")));
+        if (entry.get("domain") != null) {
+            builder.domain((String) entry.get("domain"));
+        }
+        if (entry.get("sameSite") != null) {
+            builder.sameSite((String) entry.get("sameSite"));
+        }
+        if (entry.get("expiry") != null) {
+            builder.expiresOn(new Date(((Number) entry.get("expiry")).longValue()));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.guru.selenium.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Origins a browser session has loaded documents from since the last pool reset, so the reset can clear
+ * the storage of each one rather than only of the page it ends on. Origins are collected from driver.get,
+ * from every URL the tests read back, and from Document requests seen on the DevTools session.
+ */
+@Slf4j
+public class VisitedOrigins {
+    // Origins per browser session, keyed by the undecorated driver
+    private static final Map<WebDriver, VisitedOrigins> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Set<String> origins = Collections.synchronizedSet(new LinkedHashSet<>());
+
+    /**
+     * @param driver Driver, possibly decorated
+     * @return the driver's visited origins, created on first use
+     */
+    public static VisitedOrigins of(WebDriver driver) {
+        return sessions.computeIfAbsent(DevToolsSupport.unwrap(driver), raw -> new VisitedOrigins());
+    }
+
+    /**
+     * @return listener that records the URLs passed to driver.get and read back with getCurrentUrl
+     */
+    public static WebDriverListener listener() {
+        return new WebDriverListener() {
+            @Override
+            public void afterGet(WebDriver driver, String url) {
+                of(driver).record(url);
+            }
+
+            @Override
+            public void afterGetCurrentUrl(WebDriver driver, String result) {
+                of(driver).record(result);
+            }
+        };
+    }
+
+    /**
+     * Also record documents loaded through clicks and redirects, from the driver's DevTools session
+     * @param driver Driver as handed out by DriverFactory
+     */
+    @SuppressWarnings("unchecked")
+    public static void attach(WebDriver driver) {
+        DevTools devTools = DevToolsSupport.session(driver);
+        if (devTools == null) {
+            return;
+        }
+        VisitedOrigins visited = of(driver);
+        try {
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            devTools.addListener(new Event<>("Network.requestWillBeSent", input -> (Map<String, Object>) input.read(Json.MAP_TYPE)),
+                    event -> {
+                        if ("Document".equals(event.get("type"))) {
+                            visited.record(String.valueOf(event.get("documentURL")));
+                        }
+                    });
+        } catch (Exception e) {
+            log.debug("Could not track visited origins through DevTools: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @param url Any URL; non-HTTP URLs such as about:blank and data: are ignored
+     */
+    public void record(String url) {
+        String origin = originOf(url);
+        if (origin != null) {
+            origins.add(origin);
+        }
+    }
+
+    /**
+     * @return the origins recorded since the previous call, which starts a new record
+     */
+    public Set<String> drain() {
+        synchronized (origins) {
+            Set<String> drained = new LinkedHashSet<>(origins);
+            origins.clear();
+            return drained;
+        }
+    }
+
+    static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            String scheme = uri.getScheme();
+            if (uri.getHost() == null || !("http".equals(scheme) || "https".equals(scheme))) {
+                return null;
+            }
+            return scheme + "://" + uri.getHost() + (uri.getPort() < 0 ? "" : ":" + uri.getPort());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -4,9 +4,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -92,28 +92,33 @@ public class VisualComparisonUtil {
     private static Map<String, Object> collectSiteData(WebDriver driver) {
         Map<String, Object> data = new HashMap<>();
 
-        List<WebElement> searchInputs = driver.findElements(By.cssSelector("input[type='search'], input[placeholder*='Search']"));
-        if (!searchInputs.isEmpty()) {
-            data.put("searchInput", searchInputs.get(0));
+        Map<String, By> locators = new LinkedHashMap<>();
+        locators.put("searchInput", By.cssSelector("input[type='search'], input[placeholder*='Search']"));
+        locators.put("tokenElements", By.cssSelector(
+                ".TokenAsset_container__q260a, .token-item, .TokenItem, .Marquee_item__6sQZ_, [class*='token']"));
+        locators.put("navElements", By.cssSelector(
+                ".MainMenu_container__Uuptt, .navigation, .nav, [class*='menu']"));
+        locators.put("footerElements", By.cssSelector(
+                ".layout_footer__Koz5Z, footer, .footer"));
+
+        Map<String, ElementBatchQuery.ElementPresence> presence = ElementBatchQuery.query(driver, locators);
+
+        if (presence.get("searchInput").isPresent()) {
+            data.put("searchInput", true);
         }
 
-        List<WebElement> tokenElements = driver.findElements(By.cssSelector(
-                ".TokenAsset_container__q260a, .token-item, .TokenItem, .Marquee_item__6sQZ_, [class*='token']"));
-        if (!tokenElements.isEmpty()) {
+        ElementBatchQuery.ElementPresence tokenElements = presence.get("tokenElements");
+        if (tokenElements.isPresent()) {
             data.put("tokenElements", tokenElements);
-            data.put("tokenCount", tokenElements.size());
+            data.put("tokenCount", tokenElements.getCount());
         }
 
-        List<WebElement> navElements = driver.findElements(By.cssSelector(
-                ".MainMenu_container__Uuptt, .navigation, .nav, [class*='menu']"));
-        if (!navElements.isEmpty()) {
-            data.put("navElements", navElements);
+        if (presence.get("navElements").isPresent()) {
+            data.put("navElements", presence.get("navElements"));
         }
 
-        List<WebElement> footerElements = driver.findElements(By.cssSelector(
-                ".layout_footer__Koz5Z, footer, .footer"));
-        if (!footerElements.isEmpty()) {
-            data.put("footerElements", footerElements);
+        if (presence.get("footerElements").isPresent()) {
+            data.put("footerElements", presence.get("footerElements"));
         }
 
         return data;
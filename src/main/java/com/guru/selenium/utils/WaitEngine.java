@@ -0,0 +1,194 @@
+package com.guru.selenium.utils;
+
+import com.guru.selenium.config.Configuration;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Owns one wait deadline per scenario and per step on the executing thread.
+ * Every wait is granted at most the remaining budget, polls with adaptive backoff and is
+ * written to a ledger, so a timeout reports where the step's time went.
+ */
+@Slf4j
+public class WaitEngine {
+    private static final WaitEngine instance = new WaitEngine();
+
+    private final ThreadLocal<Budget> budget = ThreadLocal.withInitial(Budget::new);
+
+    private WaitEngine() {
+    }
+
+    public static WaitEngine getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return Configuration.getInstance().getBooleanProperty("wait.budget.enabled", true);
+    }
+
+    /**
+     * Start the scenario budget (wait.budget.scenario ms) on the current thread
+     */
+    public void beginScenario() {
+        Budget current = new Budget();
+        current.scenarioDeadline = System.currentTimeMillis()
+                + Configuration.getInstance().getIntProperty("wait.budget.scenario", 600000);
+        budget.set(current);
+    }
+
+    /**
+     * Start a step budget (wait.budget.step ms) and a fresh ledger on the current thread
+     */
+    public void beginStep() {
+        Budget current = budget.get();
+        current.stepDeadline = System.currentTimeMillis()
+                + Configuration.getInstance().getIntProperty("wait.budget.step", 90000);
+        current.ledger.clear();
+    }
+
+    public void endStep() {
+        budget.get().stepDeadline = Long.MAX_VALUE;
+    }
+
+    public void endScenario() {
+        budget.remove();
+    }
+
+    /**
+     * Milliseconds a wait may use: the requested timeout capped by the step and scenario deadlines
+     * @param requestedMillis Timeout the caller asked for
+     * @return granted timeout, 0 if the budget is exhausted
+     */
+    public long allot(long requestedMillis) {
+        if (!isEnabled()) {
+            return requestedMillis;
+        }
+        return Math.max(0, Math.min(requestedMillis, budget.get().remaining()));
+    }
+
+    /**
+     * Add a wait that was not run through {@link #until} (e.g. an in-browser probe) to the ledger
+     * @param description What was waited for
+     * @param requestedMillis Timeout the caller asked for
+     * @param grantedMillis Timeout returned by {@link #allot}
+     * @param spentMillis Time actually spent
+     * @param outcome Short outcome, e.g. ok or timeout
+     */
+    public void record(String description, long requestedMillis, long grantedMillis, long spentMillis, String outcome) {
+        budget.get().ledger.add(new LedgerEntry(description, requestedMillis, grantedMillis, spentMillis, 1, outcome));
+    }
+
+    /**
+     * Poll the condition until it returns a non-null, non-false value, within the granted budget.
+     * Polling starts at wait.poll.initial ms and backs off by half each time up to wait.poll.max ms.
+     * NotFoundException and StaleElementReferenceException count as "not yet".
+     * @param driver Driver passed to the condition
+     * @param description What is waited for, used in the ledger and the timeout message
+     * @param requestedMillis Timeout the caller asked for
+     * @param condition Condition to evaluate
+     * @return the condition's value
+     * @throws TimeoutException if the condition is not met within the granted time
+     */
+    public <V> V until(WebDriver driver, String description, long requestedMillis,
+                       Function<? super WebDriver, V> condition) {
+        Configuration config = Configuration.getInstance();
+        long interval = config.getIntProperty("wait.poll.initial", 50);
+        long maxInterval = config.getIntProperty("wait.poll.max", 500);
+        long granted = allot(requestedMillis);
+        long start = System.currentTimeMillis();
+        long deadline = start + granted;
+        int polls = 0;
+        RuntimeException lastError = null;
+
+        while (true) {
+            polls++;
+            try {
+                V value = condition.apply(driver);
+                if (value != null && (!(value instanceof Boolean) || Boolean.TRUE.equals(value))) {
+                    addEntry(description, requestedMillis, granted, start, polls, "ok");
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+
+            long now = System.currentTimeMillis();
+            if (now >= deadline) {
+                String outcome = granted < requestedMillis ? "budget exhausted" : "timeout";
+                addEntry(description, requestedMillis, granted, start, polls, outcome);
+                log.debug("Wait for {} ended with {} after {} polls", description, outcome, polls);
+                throw new TimeoutException(String.format("Expected condition failed: %s (%s after %d ms of %d ms requested, %d polls)%n%s",
+                        description, outcome, now - start, requestedMillis, polls, describeLedger()), lastError);
+            }
+
+            try {
+                Thread.sleep(Math.min(interval, deadline - now));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Interrupted while waiting for " + description, e);
+            }
+            interval = Math.min(maxInterval, interval + interval / 2);
+        }
+    }
+
+    /**
+     * Waits of the current step with requested, granted and spent time
+     * @return one line per wait, in order
+     */
+    public String describeLedger() {
+        Budget current = budget.get();
+        StringBuilder report = new StringBuilder("Wait ledger for current step (remaining budget ")
+                .append(current.remaining() == Long.MAX_VALUE ? "unbounded" : current.remaining() + " ms").append("):");
+        for (LedgerEntry entry : current.ledger) {
+            report.append(System.lineSeparator()).append("  ").append(entry);
+        }
+        return report.toString();
+    }
+
+    private void addEntry(String description, long requestedMillis, long granted, long start, int polls, String outcome) {
+        budget.get().ledger.add(new LedgerEntry(description, requestedMillis, granted,
+                System.currentTimeMillis() - start, polls, outcome));
+    }
+
+    private static class Budget {
+        private long scenarioDeadline = Long.MAX_VALUE;
+        private long stepDeadline = Long.MAX_VALUE;
+        private final List<LedgerEntry> ledger = new ArrayList<>();
+
+        long remaining() {
+            long deadline = Math.min(scenarioDeadline, stepDeadline);
+            return deadline == Long.MAX_VALUE ? Long.MAX_VALUE : deadline - System.currentTimeMillis();
+        }
+    }
+
+    private static class LedgerEntry {
+        private final String description;
+        private final long requestedMillis;
+        private final long grantedMillis;
+        private final long spentMillis;
+        private final int polls;
+        private final String outcome;
+
+        LedgerEntry(String description, long requestedMillis, long grantedMillis, long spentMillis, int polls, String outcome) {
+            this.description = description;
+            this.requestedMillis = requestedMillis;
+            this.grantedMillis = grantedMillis;
+            this.spentMillis = spentMillis;
+            this.polls = polls;
+            this.outcome = outcome;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%6d ms spent (granted %d of %d, %d polls) %s: %s",
+                    spentMillis, grantedMillis, requestedMillis, polls, outcome, description);
+        }
+    }
+}
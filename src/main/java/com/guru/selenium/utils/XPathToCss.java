@@ -0,0 +1,364 @@
+package com.guru.selenium.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Translates the XPath subset used by the page objects into an equivalent {@link ByCssText}.
+ * Supported: absolute paths of // and / steps with a tag or *, an optional (...)[n] around the path,
+ * and predicates joined by "and": [n], @a='v', contains(@a, 'v'), starts-with(@a, 'v'), text()='v',
+ * contains(text(), 'v'), .='v', contains(., 'v') and .//path (with at most one text condition on its
+ * last step). Text conditions are only translated on the last step. Anything else is reported as
+ * untranslatable and keeps its XPath.
+ */
+public final class XPathToCss {
+
+    private XPathToCss() {
+    }
+
+    /**
+     * @param xpath XPath to translate
+     * @return translation, or the reason it is not translatable
+     */
+    public static Translation translate(String xpath) {
+        try {
+            return new Translation(xpath, new Parser(xpath.trim()).parse(), null);
+        } catch (UntranslatableException e) {
+            return new Translation(xpath, null, e.getMessage());
+        }
+    }
+
+    public static class Translation {
+        private final String xpath;
+        private final ByCssText locator;
+        private final String reason;
+
+        Translation(String xpath, ByCssText locator, String reason) {
+            this.xpath = xpath;
+            this.locator = locator;
+            this.reason = reason;
+        }
+
+        public String getXpath() {
+            return xpath;
+        }
+
+        /**
+         * @return the CSS form, or null if the XPath is not translatable
+         */
+        public ByCssText getLocator() {
+            return locator;
+        }
+
+        /**
+         * @return why the XPath is not translatable, or null
+         */
+        public String getReason() {
+            return reason;
+        }
+
+        public boolean isTranslatable() {
+            return locator != null;
+        }
+
+        @Override
+        public String toString() {
+            return isTranslatable() ? locator.toString() : "not translatable: " + reason;
+        }
+    }
+
+    private static class UntranslatableException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        UntranslatableException(String message) {
+            super(message);
+        }
+    }
+
+    private static class Path {
+        private final String css;
+        private final boolean childOfContext;
+        private final List<ByCssText.TextFilter> filters;
+
+        Path(String css, boolean childOfContext, List<ByCssText.TextFilter> filters) {
+            this.css = css;
+            this.childOfContext = childOfContext;
+            this.filters = filters;
+        }
+
+        String scope() {
+            return childOfContext ? "> " + css : css;
+        }
+    }
+
+    private static class Parser {
+        private final String input;
+        private int pos;
+
+        Parser(String input) {
+            this.input = input;
+        }
+
+        ByCssText parse() {
+            Path path;
+            int index = 0;
+            if (consume("(")) {
+                path = parsePath();
+                expect(")");
+                expect("[");
+                index = parseInt();
+                expect("]");
+            } else {
+                path = parsePath();
+            }
+            skipWhitespace();
+            if (pos < input.length()) {
+                throw unsupported("trailing expression");
+            }
+            if (path.childOfContext) {
+                throw new UntranslatableException("only paths starting with // are translated");
+            }
+            return new ByCssText(path.css, path.filters, index);
+        }
+
+        /**
+         * Steps separated by // or /; the first separator is relative to the context (document or predicate element)
+         */
+        private Path parsePath() {
+            skipWhitespace();
+            StringBuilder css = new StringBuilder();
+            List<ByCssText.TextFilter> filters = new ArrayList<>();
+            boolean childOfContext = false;
+            boolean first = true;
+            while (input.startsWith("/", pos)) {
+                boolean descendant = consume("//");
+                if (!descendant) {
+                    expect("/");
+                }
+                if (first) {
+                    childOfContext = !descendant;
+                } else {
+                    css.append(descendant ? " " : " > ");
+                }
+                if (!filters.isEmpty()) {
+                    throw new UntranslatableException("text conditions are only translated on the last step");
+                }
+                parseStep(css, filters);
+                first = false;
+            }
+            if (first) {
+                throw unsupported("path");
+            }
+            return new Path(css.toString(), childOfContext, filters);
+        }
+
+        private void parseStep(StringBuilder css, List<ByCssText.TextFilter> filters) {
+            String name = consume("*") ? "*" : parseName();
+            if (input.startsWith("::", pos)) {
+                throw new UntranslatableException("axis " + name + ":: is not translated");
+            }
+            css.append(name);
+            boolean firstPredicate = true;
+            while (consume("[")) {
+                skipWhitespace();
+                if (pos < input.length() && Character.isDigit(input.charAt(pos))) {
+                    if (!firstPredicate) {
+                        throw new UntranslatableException("position predicate after other predicates");
+                    }
+                    int position = parseInt();
+                    css.append("*".equals(name) ? ":nth-child(" : ":nth-of-type(").append(position).append(")");
+                } else {
+                    do {
+                        parseCondition(css, filters);
+                    } while (consumeKeyword("and"));
+                    if (consumeKeyword("or")) {
+                        throw new UntranslatableException("'or' predicates are not translated");
+                    }
+                }
+                expect("]");
+                firstPredicate = false;
+            }
+        }
+
+        private void parseCondition(StringBuilder css, List<ByCssText.TextFilter> filters) {
+            skipWhitespace();
+            if (consume("@")) {
+                String attribute = parseName();
+                expect("=");
+                css.append(attributeSelector(attribute, "=", parseLiteral()));
+            } else if (consumeFunction("contains")) {
+                String argument = parseArgument();
+                expect(",");
+                String value = nonEmpty(parseLiteral());
+                expect(")");
+                if ("text()".equals(argument)) {
+                    filters.add(new ByCssText.TextFilter(null, ByCssText.Mode.TEXT_CONTAINS, value));
+                } else if (".".equals(argument)) {
+                    filters.add(new ByCssText.TextFilter(null, ByCssText.Mode.STRING_CONTAINS, value));
+                } else {
+                    css.append(attributeSelector(argument, "*=", value));
+                }
+            } else if (consumeFunction("starts-with")) {
+                String argument = parseArgument();
+                expect(",");
+                String value = nonEmpty(parseLiteral());
+                expect(")");
+                if ("text()".equals(argument) || ".".equals(argument)) {
+                    throw new UntranslatableException("starts-with on text is not translated");
+                }
+                css.append(attributeSelector(argument, "^=", value));
+            } else if (consume("text()")) {
+                expect("=");
+                filters.add(new ByCssText.TextFilter(null, ByCssText.Mode.TEXT_EQUALS, parseLiteral()));
+            } else if (input.startsWith("./", pos)) {
+                pos++;
+                parseDescendantCondition(css, filters);
+            } else if (consume(".")) {
+                expect("=");
+                filters.add(new ByCssText.TextFilter(null, ByCssText.Mode.STRING_EQUALS, parseLiteral()));
+            } else {
+                throw unsupported("predicate");
+            }
+        }
+
+        /**
+         * .//path: existence of a matching descendant, with at most one text condition on it
+         */
+        private void parseDescendantCondition(StringBuilder css, List<ByCssText.TextFilter> filters) {
+            Path path = parsePath();
+            if (path.filters.isEmpty()) {
+                css.append(":has(").append(path.scope()).append(")");
+                return;
+            }
+            ByCssText.TextFilter inner = path.filters.get(0);
+            if (path.filters.size() > 1 || inner.getScope() != null) {
+                throw new UntranslatableException("more than one text condition on a descendant");
+            }
+            filters.add(new ByCssText.TextFilter(path.scope(), inner.getMode(), inner.getValue()));
+        }
+
+        /**
+         * @return attribute name, "text()" or "."
+         */
+        private String parseArgument() {
+            skipWhitespace();
+            if (consume("@")) {
+                return parseName();
+            }
+            if (consume("text()")) {
+                return "text()";
+            }
+            if (consume(".")) {
+                return ".";
+            }
+            throw unsupported("function argument");
+        }
+
+        private String parseName() {
+            skipWhitespace();
+            int start = pos;
+            while (pos < input.length()) {
+                char c = input.charAt(pos);
+                if (!Character.isLetterOrDigit(c) && c != '-' && c != '_') {
+                    break;
+                }
+                pos++;
+            }
+            if (start == pos || !Character.isLetter(input.charAt(start))) {
+                throw unsupported("name");
+            }
+            return input.substring(start, pos);
+        }
+
+        private String parseLiteral() {
+            skipWhitespace();
+            if (pos >= input.length() || (input.charAt(pos) != '\'' && input.charAt(pos) != '"')) {
+                throw unsupported("literal");
+            }
+            char quote = input.charAt(pos);
+            int end = input.indexOf(quote, pos + 1);
+            if (end < 0) {
+                throw unsupported("unterminated literal");
+            }
+            String value = input.substring(pos + 1, end);
+            pos = end + 1;
+            return value;
+        }
+
+        private int parseInt() {
+            skipWhitespace();
+            int start = pos;
+            while (pos < input.length() && Character.isDigit(input.charAt(pos))) {
+                pos++;
+            }
+            if (start == pos) {
+                throw unsupported("number");
+            }
+            int value = Integer.parseInt(input.substring(start, pos));
+            if (value < 1) {
+                throw new UntranslatableException("position " + value);
+            }
+            return value;
+        }
+
+        private boolean consumeFunction(String name) {
+            skipWhitespace();
+            int start = pos;
+            if (input.startsWith(name, pos)) {
+                pos += name.length();
+                if (consume("(")) {
+                    return true;
+                }
+            }
+            pos = start;
+            return false;
+        }
+
+        private boolean consumeKeyword(String keyword) {
+            skipWhitespace();
+            int end = pos + keyword.length();
+            if (input.startsWith(keyword, pos) && end < input.length() && !Character.isLetterOrDigit(input.charAt(end))) {
+                pos = end;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean consume(String token) {
+            skipWhitespace();
+            if (input.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!consume(token)) {
+                throw unsupported("'" + token + "' expected");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private UntranslatableException unsupported(String what) {
+            return new UntranslatableException("unsupported " + what + " at position " + pos);
+        }
+
+        private static String nonEmpty(String value) {
+            // contains(x, '') is always true in XPath, but [a*=""] never matches in CSS
+            if (value.isEmpty()) {
+                throw new UntranslatableException("empty literal");
+            }
+            return value;
+        }
+
+        private static String attributeSelector(String attribute, String operator, String value) {
+            return "[" + attribute + operator + "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"]";
+        }
+    }
+}
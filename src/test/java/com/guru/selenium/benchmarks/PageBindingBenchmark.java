@@ -0,0 +1,110 @@
+package com.guru.selenium.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.PageFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page-object construction and element access: PageFactory proxies vs generated element bindings.
+ * The driver is an in-memory stub, so only the binding overhead is measured.
+ * Run with: mvn test-compile exec:exec -Pjmh -Djmh.args=PageBindingBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageBindingBenchmark {
+    private WebDriver driver;
+    private SamplePage pageFactoryPage;
+    private SamplePage generatedPage;
+
+    @Setup
+    public void setUp() {
+        driver = stubDriver();
+        pageFactoryPage = new SamplePage();
+        PageFactory.initElements(driver, pageFactoryPage);
+        generatedPage = new SamplePage();
+        SamplePageElements.bind(generatedPage, driver);
+    }
+
+    @Benchmark
+    public SamplePage constructWithPageFactory() {
+        SamplePage page = new SamplePage();
+        PageFactory.initElements(driver, page);
+        return page;
+    }
+
+    @Benchmark
+    public SamplePage constructWithGeneratedBinding() {
+        SamplePage page = new SamplePage();
+        SamplePageElements.bind(page, driver);
+        return page;
+    }
+
+    @Benchmark
+    public String accessWithPageFactory() {
+        return pageFactoryPage.loginButton.getText();
+    }
+
+    @Benchmark
+    public String accessWithGeneratedBinding() {
+        return generatedPage.loginButton.getText();
+    }
+
+    /**
+     * Driver whose findElement(s) return a stub element with fixed text
+     */
+    private static WebDriver stubDriver() {
+        WebElement element = (WebElement) Proxy.newProxyInstance(PageBindingBenchmark.class.getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getText":
+                            return "Sign In";
+                        case "isDisplayed":
+                            return true;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "stub element";
+                        default:
+                            return null;
+                    }
+                });
+        List<WebElement> elements = List.of(element);
+        return (WebDriver) Proxy.newProxyInstance(PageBindingBenchmark.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findElement":
+                            return element;
+                        case "findElements":
+                            return elements;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "stub driver";
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,31 @@
+package com.guru.selenium.benchmarks;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.CacheLookup;
+import org.openqa.selenium.support.FindBy;
+
+import java.util.List;
+
+/**
+ * Page object shaped like the framework's pages, bound by PageFactory or by the generated SamplePageElements
+ */
+class SamplePage {
+    @FindBy(xpath = "//div[contains(@class, 'login_number_field_wrap')]//input[@id='login-phone']")
+    WebElement phoneField;
+
+    @FindBy(xpath = "//span[@class='Button_caption__baPq2' and text()='Sign In']")
+    WebElement loginButton;
+
+    @FindBy(xpath = "//div[contains(@class, 'Dialog_container__sZ9Tc')]")
+    WebElement popup;
+
+    @FindBy(xpath = "//button[@type='submit']")
+    WebElement nextButton;
+
+    @CacheLookup
+    @FindBy(id = "main-menu")
+    WebElement mainMenu;
+
+    @FindBy(css = "a[href]")
+    List<WebElement> links;
+}
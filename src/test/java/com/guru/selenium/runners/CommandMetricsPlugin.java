@@ -0,0 +1,37 @@
+package com.guru.selenium.runners;
+
+import com.guru.selenium.utils.CommandMetrics;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Tags recorded WebDriver commands with the running scenario and step.
+ * Events are delivered on the thread executing the scenario, so the context is thread-local.
+ */
+public class CommandMetricsPlugin implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, event ->
+                CommandMetrics.getInstance().setScenario(event.getTestCase().getName()));
+        publisher.registerHandlerFor(TestStepStarted.class, event -> {
+            if (event.getTestStep() instanceof PickleStepTestStep step) {
+                CommandMetrics.getInstance().setStep(step.getStep().getKeyword() + step.getStep().getText());
+            }
+        });
+        publisher.registerHandlerFor(TestStepFinished.class, event -> {
+            if (event.getTestStep() instanceof PickleStepTestStep) {
+                CommandMetrics.getInstance().setStep(null);
+            }
+        });
+        publisher.registerHandlerFor(TestCaseFinished.class, event -> {
+            CommandMetrics.getInstance().setStep(null);
+            CommandMetrics.getInstance().setScenario(null);
+        });
+    }
+}
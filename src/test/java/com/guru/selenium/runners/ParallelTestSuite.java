@@ -0,0 +1,55 @@
+package com.guru.selenium.runners;
+
+import com.guru.selenium.utils.DriverBinaryCache;
+import com.guru.selenium.utils.RequestBlocker;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.platform.suite.api.BeforeSuite;
+import org.junit.platform.suite.api.ConfigurationParameter;
+import org.junit.platform.suite.api.IncludeEngines;
+import org.junit.platform.suite.api.SelectClasspathResource;
+import org.junit.platform.suite.api.Suite;
+
+import static io.cucumber.junit.platform.engine.Constants.FILTER_TAGS_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.GLUE_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PARALLEL_CONFIG_CUSTOM_CLASS_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PROPERTY_NAME;
+
+/**
+ * TestRunner's scenarios on the Cucumber JUnit Platform engine, which runs scenarios (not features)
+ * concurrently on ParallelExecution.workerCount() threads, one per pooled browser. Run with -Pparallel.
+ */
+@Slf4j
+@Suite
+@IncludeEngines("cucumber")
+@SelectClasspathResource("features")
+@ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "com.guru.selenium.steps")
+@ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty,"
+        + "html:target/cucumber-reports/cucumber-pretty.html,"
+        + "json:target/cucumber-reports/CucumberTestReport.json,"
+        + "junit:target/cucumber-reports/CucumberTestReport.xml,"
+        + "com.guru.selenium.runners.CommandMetricsPlugin")
+@ConfigurationParameter(key = FILTER_TAGS_PROPERTY_NAME, value = "not @Ignore and not @performance and not @multitab")
+@ConfigurationParameter(key = PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME, value = "true")
+@ConfigurationParameter(key = PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME, value = "custom")
+@ConfigurationParameter(key = PARALLEL_CONFIG_CUSTOM_CLASS_PROPERTY_NAME,
+        value = "com.guru.selenium.runners.WorkerCountParallelism")
+public class ParallelTestSuite {
+
+    @BeforeSuite
+    public static void setup() {
+        log.info("Setting up ParallelTestSuite");
+        RequestBlocker.useSuite("regression");
+
+        try {
+            DriverBinaryCache.Resolution chrome = DriverBinaryCache.getInstance().resolve(DriverManagerType.CHROME);
+            log.info("ChromeDriver {} set up for Chrome {}", chrome.getDriverVersion(), chrome.getBrowserVersion());
+        } catch (Exception e) {
+            log.error("Failed to set up ChromeDriver: {}", e.getMessage(), e);
+        }
+
+        log.info("Java version: {}", System.getProperty("java.version"));
+    }
+}
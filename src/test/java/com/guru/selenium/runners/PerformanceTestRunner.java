@@ -0,0 +1,44 @@
+package com.guru.selenium.runners;
+
+import com.guru.selenium.utils.DriverBinaryCache;
+import com.guru.selenium.utils.RequestBlocker;
+import io.cucumber.junit.Cucumber;
+import io.cucumber.junit.CucumberOptions;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.BeforeClass;
+import org.junit.runner.RunWith;
+
+@Slf4j
+@RunWith(Cucumber.class)
+@CucumberOptions(
+        features = "src/test/resources/features/performance_budgets.feature",
+        glue = {"com.guru.selenium.steps"},
+        plugin = {
+                "pretty",
+                "html:target/cucumber-reports/cucumber-pretty.html",
+                "json:target/cucumber-reports/CucumberTestReport.json",
+                "junit:target/cucumber-reports/CucumberTestReport.xml",
+                "com.guru.selenium.runners.CommandMetricsPlugin"
+        },
+        monochrome = true,
+        dryRun = false,
+        tags = "@performance and not @Ignore"
+)
+public class PerformanceTestRunner {
+
+        @BeforeClass
+        public static void setup() {
+                log.info("Setting up PerformanceTestRunner");
+                RequestBlocker.useSuite("regression");
+
+                try {
+                        DriverBinaryCache.Resolution chrome = DriverBinaryCache.getInstance().resolve(DriverManagerType.CHROME);
+                        log.info("ChromeDriver {} set up for Chrome {}", chrome.getDriverVersion(), chrome.getBrowserVersion());
+                } catch (Exception e) {
+                        log.error("Failed to set up ChromeDriver: {}", e.getMessage(), e);
+                }
+
+                log.info("Java version: {}", System.getProperty("java.version"));
+        }
+}
\ No newline at end of file
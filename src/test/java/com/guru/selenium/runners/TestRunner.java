@@ -1,7 +1,10 @@
 package com.guru.selenium.runners;
 
+import com.guru.selenium.utils.DriverBinaryCache;
+import com.guru.selenium.utils.RequestBlocker;
 import io.cucumber.junit.Cucumber;
 import io.cucumber.junit.CucumberOptions;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.BeforeClass;
 import org.junit.runner.RunWith;
@@ -15,35 +18,27 @@ import org.junit.runner.RunWith;
                 "pretty",
                 "html:target/cucumber-reports/cucumber-pretty.html",
                 "json:target/cucumber-reports/CucumberTestReport.json",
-                "junit:target/cucumber-reports/CucumberTestReport.xml"
+                "junit:target/cucumber-reports/CucumberTestReport.xml",
+                "com.guru.selenium.runners.CommandMetricsPlugin"
         },
         monochrome = true,
         dryRun = false,
-        tags = "not @Ignore"
+        tags = "not @Ignore and not @performance and not @multitab"
 )
 public class TestRunner {
 
         @BeforeClass
         public static void setup() {
                 log.info("Setting up TestRunner");
+                RequestBlocker.useSuite("regression");
 
                 try {
-                        io.github.bonigarcia.wdm.WebDriverManager.chromedriver().setup();
-                        log.info("ChromeDriver set up successfully");
+                        DriverBinaryCache.Resolution chrome = DriverBinaryCache.getInstance().resolve(DriverManagerType.CHROME);
+                        log.info("ChromeDriver {} set up for Chrome {}", chrome.getDriverVersion(), chrome.getBrowserVersion());
                 } catch (Exception e) {
                         log.error("Failed to set up ChromeDriver: {}", e.getMessage(), e);
                 }
 
                 log.info("Java version: {}", System.getProperty("java.version"));
-
-                try {
-                        ProcessBuilder builder = new ProcessBuilder("google-chrome", "--version");
-                        Process process = builder.start();
-                        java.util.Scanner scanner = new java.util.Scanner(process.getInputStream());
-                        String version = scanner.useDelimiter("\\A").hasNext() ? scanner.next() : "";
-                        log.info("Chrome version: {}", version);
-                } catch (Exception e) {
-                        log.warn("Could not determine Chrome version: {}", e.getMessage());
-                }
         }
 }
\ No newline at end of file
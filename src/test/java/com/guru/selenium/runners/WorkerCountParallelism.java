@@ -0,0 +1,52 @@
+package com.guru.selenium.runners;
+
+import com.guru.selenium.utils.ParallelExecution;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Runs exactly as many scenarios at once as the driver pool has browsers, so no scenario thread
+ * waits for a lease. The pool never grows past that size.
+ */
+public class WorkerCountParallelism implements ParallelExecutionConfigurationStrategy {
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int workers = ParallelExecution.workerCount();
+        return new ParallelExecutionConfiguration() {
+            @Override
+            public int getParallelism() {
+                return workers;
+            }
+
+            @Override
+            public int getMinimumRunnable() {
+                return workers;
+            }
+
+            @Override
+            public int getMaxPoolSize() {
+                return workers;
+            }
+
+            @Override
+            public int getCorePoolSize() {
+                return workers;
+            }
+
+            @Override
+            public int getKeepAliveSeconds() {
+                return 30;
+            }
+
+            @Override
+            public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+                return pool -> true;
+            }
+        };
+    }
+}
@@ -28,10 +28,10 @@ public class GuruAISteps {
         log.info("Clicking on Guru AI button: '{}'", buttonText);
         assertTrue("Guru AI should be open before clicking buttons", agentsWindowPage.isAgentWindowOpen());
 
-        boolean clicked = agentsWindowPage.clickPromptButton(buttonText);
+        AgentsWindowPage.AnswerCompletion completion = agentsWindowPage.clickPromptButtonAndAwaitAnswer(buttonText);
 
-        assertTrue("Should be able to click on button: " + buttonText, clicked);
-        log.info("Successfully clicked on Guru AI button: '{}'", buttonText);
+        assertTrue("Should be able to click on button: " + buttonText, completion != null);
+        log.info("Successfully clicked on Guru AI button: '{}' ({})", buttonText, completion);
     }
 
     @When("I enter {string} in Guru AI")
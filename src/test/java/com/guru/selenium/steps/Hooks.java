@@ -1,15 +1,30 @@
 package com.guru.selenium.steps;
 
+import com.guru.selenium.pages.MenuPage;
+import com.guru.selenium.utils.AdaptiveTimeouts;
+import com.guru.selenium.utils.CommandMetrics;
+import com.guru.selenium.utils.DriverBinaryCache;
 import com.guru.selenium.utils.DriverFactory;
+import com.guru.selenium.utils.ElementBatchQuery;
+import com.guru.selenium.utils.HarReplayServer;
+import com.guru.selenium.utils.HarTraffic;
+import com.guru.selenium.utils.LocatorCache;
+import com.guru.selenium.utils.LocatorStrategyHistory;
+import com.guru.selenium.utils.RequestBlocker;
+import com.guru.selenium.utils.ScenarioPrefetcher;
+import com.guru.selenium.utils.WaitEngine;
 import io.cucumber.java.After;
 import io.cucumber.java.AfterAll;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
 import io.cucumber.java.BeforeAll;
+import io.cucumber.java.BeforeStep;
 import io.cucumber.java.Scenario;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.slf4j.MDC;
 
 @Slf4j
 public class Hooks {
@@ -17,14 +32,16 @@ public class Hooks {
     @BeforeAll
     public static void setupBeforeAllTests() {
         log.info("Setting up test environment before all tests");
-        DriverFactory.getInstance();
+        DriverFactory.getInstance().warmUpPool();
     }
 
     @Before
     public void setupTest(Scenario scenario) {
+        MDC.put("scenario", scenario.getName());
         log.info("Starting scenario: {}", scenario.getName());
+        WaitEngine.getInstance().beginScenario();
 
-        WebDriver driver = DriverFactory.getInstance().getDriver();
+        WebDriver driver = DriverFactory.getInstance().leaseDriver();
 
         if (driver != null) {
             log.info("WebDriver is initialized and browser should be open");
@@ -32,6 +49,35 @@ public class Hooks {
             log.error("Failed to initialize WebDriver!");
             throw new RuntimeException("WebDriver initialization failed");
         }
+
+        RequestBlocker requestBlocker = RequestBlocker.of(driver);
+        if (requestBlocker != null) {
+            requestBlocker.apply(RequestBlocker.profileFor(scenario.getSourceTagNames()));
+        }
+
+        HarTraffic harTraffic = HarTraffic.of(driver);
+        if (harTraffic != null) {
+            harTraffic.beginScenario(scenario.getUri(), scenario.getName(), scenario.getLine());
+        }
+
+        // Look ahead to the next example row; its page starts loading in a background tab once this scenario's reset is done
+        if (ScenarioPrefetcher.isEnabled()) {
+            ScenarioPrefetcher.of(driver).beginScenario(driver, scenario.getUri(), scenario.getLine(),
+                    scenario.getSourceTagNames(), MenuPage::routeOf);
+        }
+    }
+
+    @BeforeStep
+    public void beginStep() {
+        WaitEngine.getInstance().beginStep();
+    }
+
+    @AfterStep
+    public void endStep(Scenario scenario) {
+        if (scenario.isFailed()) {
+            log.warn(WaitEngine.getInstance().describeLedger());
+        }
+        WaitEngine.getInstance().endStep();
     }
 
     @After
@@ -42,6 +88,15 @@ public class Hooks {
         if (scenario.isFailed()) {
             captureScreenshot(scenario);
         }
+
+        HarTraffic harTraffic = HarTraffic.of(DriverFactory.getInstance().getDriver());
+        if (harTraffic != null) {
+            harTraffic.endScenario();
+        }
+
+        DriverFactory.getInstance().releaseDriver();
+        WaitEngine.getInstance().endScenario();
+        MDC.remove("scenario");
     }
 
     private void captureScreenshot(Scenario scenario) {
@@ -58,6 +113,14 @@ public class Hooks {
     @AfterAll
     public static void tearDownAll() {
         log.info("Tearing down all tests");
+        ElementBatchQuery.logStatistics();
+        LocatorCache.logStatistics();
+        CommandMetrics.getInstance().logSummary();
+        AdaptiveTimeouts.getInstance().finishRun();
+        LocatorStrategyHistory.getInstance().finishRun();
+        RequestBlocker.logStatistics();
+        DriverBinaryCache.logStatistics();
         DriverFactory.getInstance().quitAllDrivers();
+        HarReplayServer.stop();
     }
 }
\ No newline at end of file
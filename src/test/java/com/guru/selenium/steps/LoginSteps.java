@@ -3,6 +3,7 @@ package com.guru.selenium.steps;
 
 import com.guru.selenium.pages.LoginPage;
 import io.cucumber.java.en.And;
+import io.cucumber.java.en.Given;
 import io.cucumber.java.en.When;
 import lombok.extern.slf4j.Slf4j;
 
@@ -16,6 +17,12 @@ public class LoginSteps {
         this.loginPage = new LoginPage();
     }
 
+    @Given("I am signed in with Telegram phone {string}")
+    public void iAmSignedInWithTelegramPhone(String phone) {
+        log.info("Signing in with cached session or Telegram phone {}", phone);
+        assertTrue("User should be signed in", loginPage.signInWithSessionCache(phone));
+    }
+
     @When("I click on signIn button")
     public void iClickOnSignInButton() {
         log.info("Clicking on signIn button");
@@ -1,10 +1,14 @@
 package com.guru.selenium.steps;
 
 import com.guru.selenium.pages.*;
+import com.guru.selenium.utils.BrowserTabs;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -22,6 +26,7 @@ public class MenuSteps {
 
     private String currentPage;
     private boolean isGuest;
+    private BrowserTabs pageTabs;
 
     public MenuSteps(MenuPage menuPage, TasksPage tasksPage, AgentsPage agentsPage, AnalyticsPage analyticsPage,
                      TokensPage tokensPage, SwapPage swapPage, LeaderboardsPage leaderboardsPage,
@@ -52,20 +57,58 @@ public class MenuSteps {
 //        menuPage.navigateToPage(pageName, false);
 //    }
 
+    @When("I open all side menu pages as guest in parallel tabs")
+    public void openAllPagesInParallelTabs() {
+        isGuest = true;
+        pageTabs = menuPage.openPagesInTabs(menuPage.getPageNames());
+    }
+
     @Then("The page should load without errors")
     public void thePageShouldLoadWithoutErrors() {
         log.info("Verifying {} page loaded without errors", currentPage);
-        switch (currentPage) {
-            case "tasks" -> assertTrue(tasksPage.isTasksPageLoaded());
-            case "agents" -> assertTrue(agentsPage.isAgentsPageLoaded());
-            case "analytics" -> assertTrue(analyticsPage.isHeadOfAnalyticsPage());
-            case "tokens" -> assertTrue(tokensPage.isTokensPage());
-            case "swap" -> assertTrue(swapPage.isSwapPageLoaded(isGuest));
-            case "leaderboards" -> assertTrue(leaderboardsPage.isLeaderboardsPageLoaded());
-            case "launcher" -> assertTrue(launcherPage.isLauncherPageLoaded(isGuest));
-            case "content" -> assertTrue(contentPage.isAboutPageLoaded());
-            default -> fail("Unknown page: " + currentPage);
+        assertTrue(isPageLoaded(currentPage));
+    }
+
+    @Then("Every page should load without errors in its tab")
+    public void everyPageShouldLoadWithoutErrorsInItsTab() {
+        List<String> pageNames = pageTabs.getNames();
+        List<String> failed = new ArrayList<>();
+        long start = System.currentTimeMillis();
+        try {
+            for (String pageName : pageNames) {
+                log.info("Verifying {} page loaded without errors in its tab", pageName);
+                try {
+                    menuPage.awaitPageTab(pageTabs, pageName);
+                    if (!isPageLoaded(pageName)) {
+                        failed.add(pageName);
+                    }
+                } catch (Exception e) {
+                    log.error("Page {} failed its check: {}", pageName, e.getMessage());
+                    failed.add(pageName);
+                }
+            }
+        } finally {
+            pageTabs.close();
         }
+        log.info("Checked {} pages in parallel tabs in {} ms", pageNames.size(),
+                System.currentTimeMillis() - start);
+        assertTrue("Pages that failed to load: " + failed, failed.isEmpty());
+    }
 
+    private boolean isPageLoaded(String pageName) {
+        return switch (pageName) {
+            case "tasks" -> tasksPage.isTasksPageLoaded();
+            case "agents" -> agentsPage.isAgentsPageLoaded();
+            case "analytics" -> analyticsPage.isHeadOfAnalyticsPage();
+            case "tokens" -> tokensPage.isTokensPage();
+            case "swap" -> swapPage.isSwapPageLoaded(isGuest);
+            case "leaderboards" -> leaderboardsPage.isLeaderboardsPageLoaded();
+            case "launcher" -> launcherPage.isLauncherPageLoaded(isGuest);
+            case "content" -> contentPage.isAboutPageLoaded();
+            default -> {
+                fail("Unknown page: " + pageName);
+                yield false;
+            }
+        };
     }
 }
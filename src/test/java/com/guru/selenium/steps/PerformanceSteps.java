@@ -0,0 +1,63 @@
+package com.guru.selenium.steps;
+
+import com.guru.selenium.config.Configuration;
+import com.guru.selenium.pages.MenuPage;
+import com.guru.selenium.utils.PerformanceBudget;
+import io.cucumber.java.en.Then;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@Slf4j
+public class PerformanceSteps {
+    private final MenuPage menuPage;
+
+    public PerformanceSteps(MenuPage menuPage) {
+        this.menuPage = menuPage;
+        log.info("PerformanceSteps initialized");
+    }
+
+    @Then("the {word} page {word} should be under {int} ms at p{int} over {int} loads")
+    public void pageMetricShouldBeUnderMillis(String pageName, String metric, int limitMillis, int percentile, int loads) {
+        assertBudgets(pageName, Map.of(metric, (double) limitMillis), percentile, loads);
+    }
+
+    @Then("the {word} page {word} should be under {double} at p{int} over {int} loads")
+    public void pageMetricShouldBeUnder(String pageName, String metric, double limit, int percentile, int loads) {
+        assertBudgets(pageName, Map.of(metric, limit), percentile, loads);
+    }
+
+    @Then("the {word} page should meet its performance budgets")
+    public void pageShouldMeetItsPerformanceBudgets(String pageName) {
+        String page = normalize(pageName);
+        Map<String, Double> budgets = PerformanceBudget.configuredBudgets(page);
+        assertFalse("No performance budgets configured for " + page + " page (perf.budget.page." + page + ".*)",
+                budgets.isEmpty());
+
+        Configuration config = Configuration.getInstance();
+        assertBudgets(page, budgets, config.getIntProperty("perf.budget.percentile", 75),
+                config.getIntProperty("perf.budget.loads", 5));
+    }
+
+    private void assertBudgets(String pageName, Map<String, Double> budgets, int percentile, int loads) {
+        String page = normalize(pageName);
+        log.info("Measuring {} page over {} loads against budgets {}", page, loads, budgets);
+        List<PerformanceBudget.BudgetResult> results = PerformanceBudget.evaluate(page, budgets, percentile, loads,
+                () -> menuPage.loadPage(page));
+
+        String exceeded = results.stream()
+                .filter(result -> !result.isWithinBudget())
+                .map(PerformanceBudget.BudgetResult::describe)
+                .collect(Collectors.joining("; "));
+        assertTrue("Performance budget exceeded: " + exceeded, exceeded.isEmpty());
+    }
+
+    private String normalize(String pageName) {
+        return pageName.toLowerCase().trim().replaceAll(" ", "");
+    }
+}
@@ -0,0 +1,131 @@
+package com.guru.selenium.utils;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class XPathToCssTest {
+
+    @Test
+    public void positionPredicateIsNthOfType() {
+        ByCssText locator = translate("//ul/li[2]");
+        assertEquals("ul > li:nth-of-type(2)", locator.getCss());
+        assertEquals(0, locator.getIndex());
+    }
+
+    @Test
+    public void positionPredicateOnWildcardIsNthChild() {
+        assertEquals("div > *:nth-child(3)", translate("//div/*[3]").getCss());
+    }
+
+    @Test
+    public void positionBeforeAttributePredicateKeepsBothConditions() {
+        assertEquals("li:nth-of-type(2)[class=\"active\"]", translate("//li[2][@class='active']").getCss());
+    }
+
+    @Test
+    public void parenthesizedPathIndexesTheWholeResult() {
+        ByCssText locator = translate("(//button[@type='submit'])[2]");
+        assertEquals("button[type=\"submit\"]", locator.getCss());
+        assertEquals(2, locator.getIndex());
+        assertFalse(locator.isPlainCss());
+    }
+
+    @Test
+    public void attributeFunctionsBecomeAttributeSelectors() {
+        assertEquals("div[class*=\"Dialog_container\"] input[id^=\"login\"]",
+                translate("//div[contains(@class, 'Dialog_container')]//input[starts-with(@id, 'login')]").getCss());
+    }
+
+    @Test
+    public void textEqualsMatchesAnyOwnTextNode() {
+        TextFilterAssert.of(translate("//span[text()='Sign In']"))
+                .is(null, ByCssText.Mode.TEXT_EQUALS, "Sign In");
+    }
+
+    @Test
+    public void containsTextMatchesTheFirstOwnTextNode() {
+        TextFilterAssert.of(translate("//span[contains(text(), 'Tokens')]"))
+                .is(null, ByCssText.Mode.TEXT_CONTAINS, "Tokens");
+    }
+
+    @Test
+    public void dotComparesTheFullTextContent() {
+        TextFilterAssert.of(translate("//a[.='Swap']")).is(null, ByCssText.Mode.STRING_EQUALS, "Swap");
+        TextFilterAssert.of(translate("//a[contains(., 'Swap')]")).is(null, ByCssText.Mode.STRING_CONTAINS, "Swap");
+    }
+
+    @Test
+    public void descendantConditionWithoutTextIsHas() {
+        ByCssText locator = translate("//button[.//span[@class='icon']]");
+        assertEquals("button:has(span[class=\"icon\"])", locator.getCss());
+        assertTrue(locator.isPlainCss());
+    }
+
+    @Test
+    public void descendantTextConditionIsScopedFilter() {
+        ByCssText locator = translate("//button[.//span[text()='Sign In']]");
+        assertEquals("button", locator.getCss());
+        TextFilterAssert.of(locator).is("span", ByCssText.Mode.TEXT_EQUALS, "Sign In");
+    }
+
+    @Test
+    public void childDescendantConditionIsScopedToChildren() {
+        ByCssText locator = translate("//button[./span[text()='Go']]");
+        TextFilterAssert.of(locator).is("> span", ByCssText.Mode.TEXT_EQUALS, "Go");
+    }
+
+    @Test
+    public void rejectsUnsupportedInputs() {
+        List<String> rejected = List.of(
+                "/html/body/div",
+                "//div[@class='a' or @class='b']",
+                "//div/following-sibling::span",
+                "//div[@class='a'][2]",
+                "//span[text()='a']/b",
+                "//span[starts-with(text(), 'a')]",
+                "//div[contains(@class, '')]",
+                "//div[last()]",
+                "//div[0]",
+                "//div[.//span[text()='a' and contains(., 'b')]]",
+                "//div | //span",
+                "//div[@id='a");
+        for (String xpath : rejected) {
+            XPathToCss.Translation translation = XPathToCss.translate(xpath);
+            assertFalse(xpath + " should not be translated", translation.isTranslatable());
+            assertNull(translation.getLocator());
+            assertTrue(translation.getReason() != null && !translation.getReason().isEmpty());
+        }
+    }
+
+    private static ByCssText translate(String xpath) {
+        XPathToCss.Translation translation = XPathToCss.translate(xpath);
+        assertTrue(xpath + " should be translated: " + translation.getReason(), translation.isTranslatable());
+        return translation.getLocator();
+    }
+
+    private static class TextFilterAssert {
+        private final ByCssText locator;
+
+        private TextFilterAssert(ByCssText locator) {
+            this.locator = locator;
+        }
+
+        static TextFilterAssert of(ByCssText locator) {
+            return new TextFilterAssert(locator);
+        }
+
+        void is(String scope, ByCssText.Mode mode, String value) {
+            assertEquals(1, locator.getFilters().size());
+            ByCssText.TextFilter filter = locator.getFilters().get(0);
+            assertEquals(scope, filter.getScope());
+            assertEquals(mode, filter.getMode());
+            assertEquals(value, filter.getValue());
+        }
+    }
+}
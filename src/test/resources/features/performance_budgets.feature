@@ -0,0 +1,20 @@
+@performance
+Feature: Page performance budgets
+  As a release manager
+  Check that key pages load within their performance budgets
+
+  Background:
+    Given I am on the home page
+
+  Scenario: Tokens page renders within its budget
+    Then the tokens page LCP should be under 2500 ms at p75 over 5 loads
+    And the tokens page CLS should be under 0.1 at p75 over 5 loads
+
+  Scenario Outline: Pages meet the budgets from configuration
+    Then the <pageName> page should meet its performance budgets
+
+    Examples:
+      | pageName  |
+      | tasks     |
+      | analytics |
+      | tokens    |
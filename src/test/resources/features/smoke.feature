@@ -28,4 +28,9 @@ Feature: Smoke Functionality
       | swap         |
       | content      |
       | launcher     |
-      | leaderboards |
\ No newline at end of file
+      | leaderboards |
+
+  @multitab
+  Scenario: Verify all pages load in parallel tabs
+    When I open all side menu pages as guest in parallel tabs
+    Then Every page should load without errors in its tab